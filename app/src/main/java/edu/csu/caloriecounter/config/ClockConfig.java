@@ -0,0 +1,21 @@
+package edu.csu.caloriecounter.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Provides the {@link Clock} used to decide what "today" is, so date-dependent logic (the dashboard
+ * cache rolling over at midnight) can be tested with a controlled clock.
+ */
+@Configuration
+public class ClockConfig {
+    /**
+     * @return the system clock in the default time zone
+     */
+    @Bean
+    Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
@@ -0,0 +1,47 @@
+package edu.csu.caloriecounter.config;
+
+import edu.csu.caloriecounter.service.LogService;
+import edu.csu.caloriecounter.service.RollupEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class that recomputes the daily totals from the log entries when the application is
+ * started with {@code --rebuild-daily-totals}, e.g. after a backfill that wrote entries directly to the
+ * database instead of through {@link LogService}. With {@code --backfill-rollups} only the week and
+ * month rollups are recomputed, from the existing daily totals.
+ */
+@Configuration
+public class DailyTotalsRebuild {
+    private static final Logger log = LoggerFactory.getLogger(DailyTotalsRebuild.class);
+
+    /** Command line option that triggers the rebuild. */
+    static final String OPTION = "rebuild-daily-totals";
+
+    /** Command line option that recomputes only the week and month rollups. */
+    static final String ROLLUPS_OPTION = "backfill-rollups";
+
+    /**
+     * Creates an ApplicationRunner that rebuilds the daily totals when {@value #OPTION} is passed, or
+     * just the rollups when {@value #ROLLUPS_OPTION} is.
+     *
+     * @param service service owning the daily totals
+     * @param rollups engine owning the week and month rollups
+     * @return the runner
+     */
+    @Bean
+    ApplicationRunner rebuildDailyTotals(LogService service, RollupEngine rollups) {
+        return args -> {
+            if (args.containsOption(OPTION)) {
+                int rows = service.rebuildDailyTotals();
+                log.info("Rebuilt {} daily total rows and their rollups from the log entries", rows);
+            } else if (args.containsOption(ROLLUPS_OPTION)) {
+                int rows = rollups.backfill();
+                log.info("Backfilled {} week and month rollup rows from the daily totals", rows);
+            }
+        };
+    }
+}
@@ -3,21 +3,29 @@ package edu.csu.caloriecounter.config;
 import edu.csu.caloriecounter.domain.FoodItem;
 import edu.csu.caloriecounter.domain.LogEntry;
 import edu.csu.caloriecounter.domain.MealType;
-import edu.csu.caloriecounter.repo.LogEntryRepository;
 import edu.csu.caloriecounter.service.FoodCatalogService;
+import edu.csu.caloriecounter.service.LogService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 /**
  * Configuration class that seeds example LogEntry data into the application repository at startup.
  *
- * The {@link #seed(LogEntryRepository, FoodCatalogService)} method registers a
+ * The {@link #seed(LogService, FoodCatalogService, boolean)} method registers a
  * {@link CommandLineRunner} bean that inserts a handful of entries for the current day using
  * the food catalog loaded from the Excel workbook. It also creates deterministic daily totals for
- * the previous 14 days. This class is intended to provide a small dataset for local development and
+ * the previous 14 days. Entries are added through {@link LogService} in one batched call so the daily
+ * totals are kept in step. Nothing is seeded when the database already holds entries (a file database
+ * kept from an earlier run, see {@code application-durable.properties}) or when {@code seed.enabled} is
+ * {@code false}. This class is intended to provide a small dataset for local development and
  * demonstration purposes while avoiding hard-coded meal descriptions.
  *
  * Patterns Used So Far:
@@ -28,32 +36,47 @@ import java.util.Random;
  */
 @Configuration
 public class DataLoader {
+    private static final Logger log = LoggerFactory.getLogger(DataLoader.class);
+
     /**
-     * Creates a CommandLineRunner bean that seeds sample LogEntry objects into the provided repository.
+     * Creates a CommandLineRunner bean that seeds sample LogEntry objects through the log service.
      *
-     * @param repo the repository used to persist LogEntry instances
+     * @param service the service used to persist LogEntry instances
      * @param catalogService catalog providing preset food options sourced from Excel
+     * @param enabled whether to seed at all
      * @return a CommandLineRunner that inserts sample data on application startup
      */
     @Bean
-    CommandLineRunner seed(LogEntryRepository repo, FoodCatalogService catalogService) {
+    CommandLineRunner seed(LogService service, FoodCatalogService catalogService,
+                           @Value("${seed.enabled:true}") boolean enabled) {
         return args -> {
+            if (!enabled) {
+                return;
+            }
+            if (service.hasEntries()) {
+                log.info("Database already holds log entries; skipping sample data");
+                return;
+            }
+            LocalDate today = service.today();
+            List<LogEntry> entries = new ArrayList<>();
+
             // Seed entries for the current day based on the Excel catalog (when available)
             catalogService.getCatalog().stream()
                 .limit(3)
-                .forEach(item -> repo.save(new LogEntry(LocalDate.now(), item.getDescription(), item.getCalories(),
+                .forEach(item -> entries.add(new LogEntry(today, item.getDescription(), item.getCalories(),
                     item.getProtein(), item.getCarbs(), item.getFat(), item.getMealType())));
 
             // Deterministic pseudo-random daily totals for the previous 14 days to provide sample history
             Random r = new Random(42);
             for (int i = 1; i <= 14; i++) {
-                LocalDate d = LocalDate.now().minusDays(i);
+                LocalDate d = today.minusDays(i);
                 int cal = 1800 + r.nextInt(600); // calories between 1800 and 2399
                 int p = 120 + r.nextInt(60);     // protein grams between 120 and 179
                 int c = 180 + r.nextInt(80);     // carbs grams between 180 and 259
                 int f = 50 + r.nextInt(30);      // fat grams between 50 and 79
-                repo.save(new LogEntry(d, "Daily total", cal, p, c, f, MealType.DINNER));
+                entries.add(new LogEntry(d, "Daily total", cal, p, c, f, MealType.DINNER));
             }
+            service.addEntries(entries);
         };
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package edu.csu.caloriecounter.domain;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * JPA entity holding the running nutrient totals of all {@link LogEntry} rows for one date and
+ * {@link MealType}.
+ *
+ * Rows are maintained incrementally by {@link edu.csu.caloriecounter.service.LogService} in the same
+ * transaction as every entry insert, edit and delete, so a day's totals are read from at most one row
+ * per meal type instead of being recomputed from its entries. {@code entryCount} tracks how many
+ * entries contribute; a row whose count drops to zero is kept but ignored by the range queries.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_daily_totals_date_meal_type", columnNames = {"date", "meal_type"}))
+public class DailyTotals {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Date the totals belong to. */
+    @Column(nullable = false)
+    private LocalDate date;
+
+    /** Meal classification the totals belong to. */
+    @Enumerated(EnumType.STRING)
+    private MealType mealType;
+
+    /** Summed calories. */
+    private long calories;
+
+    /** Summed protein grams. */
+    private long protein;
+
+    /** Summed carbohydrate grams. */
+    private long carbs;
+
+    /** Summed fat grams. */
+    private long fat;
+
+    /** Number of entries summed into this row. */
+    private long entryCount;
+
+    /** No-args constructor required by JPA. */
+    public DailyTotals() {}
+
+    /** @return the database id for this row. */
+    public Long getId() { return id; }
+
+    /** @return the date the totals belong to. */
+    public LocalDate getDate() { return date; }
+
+    /** @return the meal type the totals belong to. */
+    public MealType getMealType() { return mealType; }
+
+    /** @return the totals as a value object. */
+    public NutrientTotals getTotals() { return new NutrientTotals(calories, protein, carbs, fat); }
+
+    /** @return number of entries summed into this row. */
+    public long getEntryCount() { return entryCount; }
+}
@@ -0,0 +1,31 @@
+package edu.csu.caloriecounter.domain;
+
+import java.time.LocalDate;
+
+/**
+ * Nutrient totals of all entries logged on one date, as returned by a grouped aggregate query.
+ */
+public final class DateTotals {
+    private final LocalDate date;
+    private final NutrientTotals totals;
+
+    /**
+     * Constructor used by the JPQL constructor expression.
+     *
+     * @param date the grouped date
+     * @param calories summed calories
+     * @param protein summed protein grams
+     * @param carbs summed carbohydrate grams
+     * @param fat summed fat grams
+     */
+    public DateTotals(LocalDate date, long calories, long protein, long carbs, long fat) {
+        this.date = date;
+        this.totals = new NutrientTotals(calories, protein, carbs, fat);
+    }
+
+    /** @return the grouped date. */
+    public LocalDate getDate() { return date; }
+
+    /** @return totals for that date. */
+    public NutrientTotals getTotals() { return totals; }
+}
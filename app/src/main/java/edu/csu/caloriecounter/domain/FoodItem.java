@@ -1,5 +1,7 @@
 package edu.csu.caloriecounter.domain;
 
+import java.util.Objects;
+
 /**
  * Simple value object representing a catalog food item loaded from an external source.
  *
@@ -51,4 +53,22 @@ public class FoodItem {
 
     /** @return default {@link MealType} category. */
     public MealType getMealType() { return mealType; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FoodItem)) {
+            return false;
+        }
+        FoodItem other = (FoodItem) o;
+        return calories == other.calories && protein == other.protein && carbs == other.carbs && fat == other.fat
+            && Objects.equals(description, other.description) && mealType == other.mealType;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(description, calories, protein, carbs, fat, mealType);
+    }
 }
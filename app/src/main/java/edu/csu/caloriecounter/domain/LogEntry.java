@@ -9,11 +9,26 @@ import java.time.LocalDate;
  * Fields capture the date, a description of the entry, macronutrient totals (calories, protein,
  * carbs, fat) and the {@link MealType} classification for the entry.
  *
- * Instances are persisted via a JPA {@code Entity} annotation and use an auto-generated identity id.
+ * Instances are persisted via a JPA {@code Entity} annotation. Ids come from a pooled sequence that
+ * hands out blocks of {@value #ID_ALLOCATION_SIZE}, so Hibernate can assign ids without a round trip
+ * per row and batch the inserts (an identity column forces one insert statement per entity).
+ *
+ * The {@code (date, id)} index serves per-day lookups and the keyset-paginated history, which orders
+ * by exactly those columns; {@code (date, meal_type)} serves the grouped scan that rebuilds the daily
+ * totals.
  */
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_log_entry_date_id", columnList = "date, id"),
+    @Index(name = "idx_log_entry_date_meal_type", columnList = "date, meal_type")
+})
 public class LogEntry {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    /** Ids reserved per sequence call; kept equal to {@code hibernate.jdbc.batch_size}. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "log_entry_seq")
+    @SequenceGenerator(name = "log_entry_seq", sequenceName = "log_entry_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     /** Date for the log entry (local date). */
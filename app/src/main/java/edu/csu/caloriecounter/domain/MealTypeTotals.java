@@ -0,0 +1,30 @@
+package edu.csu.caloriecounter.domain;
+
+/**
+ * Nutrient totals of all entries of one {@link MealType} in a date range, as returned by a grouped
+ * aggregate query.
+ */
+public final class MealTypeTotals {
+    private final MealType mealType;
+    private final NutrientTotals totals;
+
+    /**
+     * Constructor used by the JPQL constructor expression.
+     *
+     * @param mealType the grouped meal type
+     * @param calories summed calories
+     * @param protein summed protein grams
+     * @param carbs summed carbohydrate grams
+     * @param fat summed fat grams
+     */
+    public MealTypeTotals(MealType mealType, long calories, long protein, long carbs, long fat) {
+        this.mealType = mealType;
+        this.totals = new NutrientTotals(calories, protein, carbs, fat);
+    }
+
+    /** @return the grouped meal type. */
+    public MealType getMealType() { return mealType; }
+
+    /** @return totals for that meal type. */
+    public NutrientTotals getTotals() { return totals; }
+}
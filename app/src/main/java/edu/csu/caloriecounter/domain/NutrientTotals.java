@@ -0,0 +1,76 @@
+package edu.csu.caloriecounter.domain;
+
+import java.util.Objects;
+
+/**
+ * Immutable sums of the nutrients of a group of {@link LogEntry} rows (a day, a meal type, a range).
+ *
+ * Instances are built directly by the aggregate queries over the materialized daily totals in
+ * {@link edu.csu.caloriecounter.repo.DailyTotalsRepository}, so computing totals transfers one row per
+ * group instead of hydrating every entry. Sums are {@code long} because a range can exceed an int.
+ */
+public final class NutrientTotals {
+    /** Totals of no entries. */
+    public static final NutrientTotals ZERO = new NutrientTotals(0, 0, 0, 0);
+
+    private final long calories;
+    private final long protein;
+    private final long carbs;
+    private final long fat;
+
+    /**
+     * @param calories summed calories
+     * @param protein summed protein grams
+     * @param carbs summed carbohydrate grams
+     * @param fat summed fat grams
+     */
+    public NutrientTotals(long calories, long protein, long carbs, long fat) {
+        this.calories = calories;
+        this.protein = protein;
+        this.carbs = carbs;
+        this.fat = fat;
+    }
+
+    /** @return summed calories. */
+    public long getCalories() { return calories; }
+
+    /** @return summed protein grams. */
+    public long getProtein() { return protein; }
+
+    /** @return summed carbohydrate grams. */
+    public long getCarbs() { return carbs; }
+
+    /** @return summed fat grams. */
+    public long getFat() { return fat; }
+
+    /**
+     * @param other totals to add
+     * @return the element-wise sum of both totals
+     */
+    public NutrientTotals plus(NutrientTotals other) {
+        return new NutrientTotals(calories + other.calories, protein + other.protein, carbs + other.carbs,
+            fat + other.fat);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NutrientTotals)) {
+            return false;
+        }
+        NutrientTotals other = (NutrientTotals) o;
+        return calories == other.calories && protein == other.protein && carbs == other.carbs && fat == other.fat;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(calories, protein, carbs, fat);
+    }
+
+    @Override
+    public String toString() {
+        return "NutrientTotals{calories=" + calories + ", protein=" + protein + ", carbs=" + carbs + ", fat=" + fat + "}";
+    }
+}
@@ -0,0 +1,68 @@
+package edu.csu.caloriecounter.domain;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * JPA entity holding the running nutrient totals of all {@link LogEntry} rows in one week or month
+ * bucket for one {@link MealType}.
+ *
+ * Like {@link DailyTotals}, rows are adjusted in the same transaction as every entry write, so trend
+ * queries over a year read a few hundred bucket rows instead of every entry.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_period_totals_bucket",
+    columnNames = {"rollup_period", "period_start", "meal_type"}))
+public class PeriodTotals {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Bucket size. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rollup_period", nullable = false)
+    private RollupPeriod period;
+
+    /** First day of the bucket. */
+    @Column(nullable = false)
+    private LocalDate periodStart;
+
+    /** Meal classification the totals belong to. */
+    @Enumerated(EnumType.STRING)
+    private MealType mealType;
+
+    /** Summed calories. */
+    private long calories;
+
+    /** Summed protein grams. */
+    private long protein;
+
+    /** Summed carbohydrate grams. */
+    private long carbs;
+
+    /** Summed fat grams. */
+    private long fat;
+
+    /** Number of entries summed into this row. */
+    private long entryCount;
+
+    /** No-args constructor required by JPA. */
+    public PeriodTotals() {}
+
+    /** @return the database id for this row. */
+    public Long getId() { return id; }
+
+    /** @return the bucket size. */
+    public RollupPeriod getPeriod() { return period; }
+
+    /** @return first day of the bucket. */
+    public LocalDate getPeriodStart() { return periodStart; }
+
+    /** @return the meal type the totals belong to. */
+    public MealType getMealType() { return mealType; }
+
+    /** @return the totals as a value object. */
+    public NutrientTotals getTotals() { return new NutrientTotals(calories, protein, carbs, fat); }
+
+    /** @return number of entries summed into this row. */
+    public long getEntryCount() { return entryCount; }
+}
@@ -0,0 +1,31 @@
+package edu.csu.caloriecounter.domain;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Bucket sizes of the trend rollups. Persisted by name.
+ */
+public enum RollupPeriod {
+    /** ISO week, starting on Monday. */
+    WEEK,
+    /** Calendar month. */
+    MONTH;
+
+    /**
+     * @param date any date
+     * @return first day of the bucket containing {@code date}
+     */
+    public LocalDate start(LocalDate date) {
+        return this == WEEK ? date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : date.withDayOfMonth(1);
+    }
+
+    /**
+     * @param start first day of a bucket
+     * @return first day of the following bucket
+     */
+    public LocalDate next(LocalDate start) {
+        return this == WEEK ? start.plusWeeks(1) : start.plusMonths(1);
+    }
+}
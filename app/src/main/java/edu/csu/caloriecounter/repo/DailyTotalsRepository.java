@@ -0,0 +1,94 @@
+package edu.csu.caloriecounter.repo;
+
+import edu.csu.caloriecounter.domain.DailyTotals;
+import edu.csu.caloriecounter.domain.DateTotals;
+import edu.csu.caloriecounter.domain.MealTypeTotals;
+import edu.csu.caloriecounter.domain.NutrientTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository (DAO) interface for the {@link DailyTotals} materialization.
+ *
+ * Writes are single statements so concurrent entries for the same date and meal type cannot lose an
+ * update: {@link #applyDelta} is an atomic upsert and {@link #rebuildFromEntries()} recomputes every
+ * row from {@code log_entry} in one {@code INSERT ... SELECT}. The upsert uses
+ * {@code ON DUPLICATE KEY UPDATE}, which the datasource's MySQL compatibility mode provides.
+ */
+public interface DailyTotalsRepository extends JpaRepository<DailyTotals, Long> {
+    /**
+     * Add a (possibly negative) delta to the totals of a date and meal type, creating the row if needed.
+     *
+     * @param date date of the affected entries
+     * @param mealType meal type name of the affected entries
+     * @param calories calories to add
+     * @param protein protein grams to add
+     * @param carbs carbohydrate grams to add
+     * @param fat fat grams to add
+     * @param entries change in the number of entries
+     * @return number of affected rows as reported by the driver
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_totals (date, meal_type, calories, protein, carbs, fat, entry_count) "
+        + "VALUES (:date, :mealType, :calories, :protein, :carbs, :fat, :entries) "
+        + "ON DUPLICATE KEY UPDATE calories = calories + VALUES(calories), protein = protein + VALUES(protein), "
+        + "carbs = carbs + VALUES(carbs), fat = fat + VALUES(fat), entry_count = entry_count + VALUES(entry_count)",
+        nativeQuery = true)
+    int applyDelta(@Param("date") LocalDate date, @Param("mealType") String mealType,
+                   @Param("calories") long calories, @Param("protein") long protein,
+                   @Param("carbs") long carbs, @Param("fat") long fat, @Param("entries") long entries);
+
+    /**
+     * Recompute every row from the log entries. Call {@link #deleteAllInBatch()} first.
+     *
+     * @return number of rows written
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_totals (date, meal_type, calories, protein, carbs, fat, entry_count) "
+        + "SELECT date, meal_type, SUM(calories), SUM(protein), SUM(carbs), SUM(fat), COUNT(*) "
+        + "FROM log_entry GROUP BY date, meal_type",
+        nativeQuery = true)
+    int rebuildFromEntries();
+
+    /**
+     * Sum the per-meal-type rows of a date.
+     *
+     * @param date the date to read
+     * @return the day's totals; all zero when nothing was logged that day
+     */
+    @Query("select new edu.csu.caloriecounter.domain.NutrientTotals("
+        + "coalesce(sum(t.calories), 0L), coalesce(sum(t.protein), 0L), "
+        + "coalesce(sum(t.carbs), 0L), coalesce(sum(t.fat), 0L)) "
+        + "from DailyTotals t where t.date = :date")
+    NutrientTotals sumByDate(@Param("date") LocalDate date);
+
+    /**
+     * Totals per date over a range.
+     *
+     * @param start inclusive start date
+     * @param end inclusive end date
+     * @return one row per date that has entries, newest first
+     */
+    @Query("select new edu.csu.caloriecounter.domain.DateTotals("
+        + "t.date, sum(t.calories), sum(t.protein), sum(t.carbs), sum(t.fat)) "
+        + "from DailyTotals t where t.date between :start and :end "
+        + "group by t.date having sum(t.entryCount) > 0 order by t.date desc")
+    List<DateTotals> sumByDateBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    /**
+     * Totals per meal type over a range.
+     *
+     * @param start inclusive start date
+     * @param end inclusive end date
+     * @return one row per meal type that has entries in the range, ordered by meal type name
+     */
+    @Query("select new edu.csu.caloriecounter.domain.MealTypeTotals("
+        + "t.mealType, sum(t.calories), sum(t.protein), sum(t.carbs), sum(t.fat)) "
+        + "from DailyTotals t where t.date between :start and :end "
+        + "group by t.mealType having sum(t.entryCount) > 0 order by t.mealType")
+    List<MealTypeTotals> sumByMealTypeBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+}
@@ -0,0 +1,110 @@
+package edu.csu.caloriecounter.repo;
+
+import edu.csu.caloriecounter.domain.LogEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Repository (DAO) interface for {@link LogEntry} persistence operations.
+ *
+ * Extends Spring Data JPA's {@link JpaRepository} to inherit common CRUD operations and
+ * defines a few query methods used by the application service layer. Totals are not summed from the
+ * entries here; they are read from the materialized
+ * {@link edu.csu.caloriecounter.domain.DailyTotals} rows (see {@link DailyTotalsRepository}).
+ */
+public interface LogEntryRepository extends JpaRepository<LogEntry, Long> {
+    /** Rows fetched per round trip by {@link #streamByDateBetween}. */
+    int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Find all LogEntry instances for a given date.
+     *
+     * @param date the LocalDate to filter by
+     * @return list of entries matching the date (may be empty)
+     */
+    List<LogEntry> findByDate(LocalDate date);
+
+    /**
+     * The entry with the lowest id, read through the primary key, so it costs the same on an empty and
+     * on a ten-million-row table (unlike a count).
+     *
+     * @return the oldest entry by id; empty when nothing has been logged
+     */
+    Optional<LogEntry> findFirstByOrderByIdAsc();
+
+    /**
+     * Find log entries within a date range and return them ordered by date descending.
+     *
+     * @param start inclusive start date
+     * @param end inclusive end date
+     * @return list of LogEntry instances between start and end ordered newest-first
+     */
+    List<LogEntry> findByDateBetweenOrderByDateDesc(LocalDate start, LocalDate end);
+
+    /**
+     * Stream the entries of a range, oldest first, for export. The cursor fetches
+     * {@value #STREAM_FETCH_SIZE} rows per round trip and the entities are loaded read-only; the
+     * caller must consume and close the stream inside a transaction.
+     *
+     * @param start inclusive start date
+     * @param end inclusive end date
+     * @return entries ordered by date, then id
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from LogEntry e where e.date between :start and :end order by e.date, e.id")
+    Stream<LogEntry> streamByDateBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    /**
+     * First page of a range, newest first.
+     *
+     * @param start inclusive start date
+     * @param end inclusive end date
+     * @param limit maximum number of entries
+     * @return entries ordered by date, then id, descending
+     */
+    @Query("select e from LogEntry e where e.date between :start and :end order by e.date desc, e.id desc")
+    List<LogEntry> findNewest(@Param("start") LocalDate start, @Param("end") LocalDate end, Limit limit);
+
+    /**
+     * Keyset page of entries older than a {@code (date, id)} key. The redundant {@code date <= :date}
+     * bound lets the {@code (date, id)} index seek straight to the key.
+     *
+     * @param start inclusive start date
+     * @param end inclusive end date
+     * @param date date of the key
+     * @param id id of the key
+     * @param limit maximum number of entries
+     * @return entries ordered by date, then id, descending
+     */
+    @Query("select e from LogEntry e where e.date between :start and :end and e.date <= :date "
+        + "and (e.date < :date or e.id < :id) order by e.date desc, e.id desc")
+    List<LogEntry> findOlderThan(@Param("start") LocalDate start, @Param("end") LocalDate end,
+                                 @Param("date") LocalDate date, @Param("id") long id, Limit limit);
+
+    /**
+     * Keyset page of entries newer than a {@code (date, id)} key.
+     *
+     * @param start inclusive start date
+     * @param end inclusive end date
+     * @param date date of the key
+     * @param id id of the key
+     * @param limit maximum number of entries
+     * @return entries ordered by date, then id, ascending (oldest first, nearest the key)
+     */
+    @Query("select e from LogEntry e where e.date between :start and :end and e.date >= :date "
+        + "and (e.date > :date or e.id > :id) order by e.date asc, e.id asc")
+    List<LogEntry> findNewerThan(@Param("start") LocalDate start, @Param("end") LocalDate end,
+                                 @Param("date") LocalDate date, @Param("id") long id, Limit limit);
+}
@@ -0,0 +1,55 @@
+package edu.csu.caloriecounter.repo;
+
+import edu.csu.caloriecounter.domain.PeriodTotals;
+import edu.csu.caloriecounter.domain.RollupPeriod;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository (DAO) interface for the week and month {@link PeriodTotals} rollups.
+ *
+ * As in {@link DailyTotalsRepository}, increments are a single atomic upsert relying on the
+ * datasource's MySQL compatibility mode.
+ */
+public interface PeriodTotalsRepository extends JpaRepository<PeriodTotals, Long> {
+    /**
+     * Add a (possibly negative) delta to a bucket, creating the row if needed.
+     *
+     * @param period bucket size name
+     * @param periodStart first day of the bucket
+     * @param mealType meal type name
+     * @param calories calories to add
+     * @param protein protein grams to add
+     * @param carbs carbohydrate grams to add
+     * @param fat fat grams to add
+     * @param entries change in the number of entries
+     * @return number of affected rows as reported by the driver
+     */
+    @Modifying
+    @Query(value = "INSERT INTO period_totals (rollup_period, period_start, meal_type, calories, protein, carbs, fat, entry_count) "
+        + "VALUES (:period, :periodStart, :mealType, :calories, :protein, :carbs, :fat, :entries) "
+        + "ON DUPLICATE KEY UPDATE calories = calories + VALUES(calories), protein = protein + VALUES(protein), "
+        + "carbs = carbs + VALUES(carbs), fat = fat + VALUES(fat), entry_count = entry_count + VALUES(entry_count)",
+        nativeQuery = true)
+    int applyDelta(@Param("period") String period, @Param("periodStart") LocalDate periodStart,
+                   @Param("mealType") String mealType, @Param("calories") long calories,
+                   @Param("protein") long protein, @Param("carbs") long carbs, @Param("fat") long fat,
+                   @Param("entries") long entries);
+
+    /**
+     * Buckets of one size whose start lies in a range.
+     *
+     * @param period bucket size
+     * @param from inclusive first bucket start
+     * @param to inclusive last bucket start
+     * @return non-empty rows ordered by bucket start, then meal type name
+     */
+    @Query("select t from PeriodTotals t where t.period = :period and t.periodStart between :from and :to "
+        + "and t.entryCount > 0 order by t.periodStart, t.mealType")
+    List<PeriodTotals> findBuckets(@Param("period") RollupPeriod period, @Param("from") LocalDate from,
+                                   @Param("to") LocalDate to);
+}
@@ -0,0 +1,171 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.MealType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact binary copy of the rows parsed from every sheet of a catalog workbook, so an unchanged
+ * workbook is not re-parsed by POI on every startup.
+ *
+ * The file starts with a header ({@code magic, format version, workbook size, SHA-256 of the
+ * workbook, item count}) followed by one record per item: four {@code int} nutrients, the
+ * {@link MealType} ordinal as a byte, and the UTF-8 description prefixed by its length. It is read
+ * through a memory-mapped buffer and only trusted when the header matches the workbook being loaded;
+ * anything else (missing, stale, truncated or from another format version) is reported as a miss.
+ */
+class CatalogCache {
+    private static final Logger log = LoggerFactory.getLogger(CatalogCache.class);
+    private static final int MAGIC = 0x43434154; // "CCAT"
+    // Bump when the record layout or the MealType constants change.
+    private static final int FORMAT_VERSION = 2;
+    private static final int DIGEST_LENGTH = 32;
+    private static final int MIN_RECORD_LENGTH = 4 * Integer.BYTES + 1 + Integer.BYTES;
+
+    private final Path cachePath;
+
+    /**
+     * @param cachePath location of the cache file
+     */
+    CatalogCache(Path cachePath) {
+        this.cachePath = cachePath;
+    }
+
+    /** @return location of the cache file. */
+    Path getPath() { return cachePath; }
+
+    /**
+     * Hash a workbook's contents.
+     *
+     * @param workbook workbook file
+     * @return SHA-256 of the file
+     * @throws IOException when the file cannot be read
+     */
+    static byte[] digest(Path workbook) throws IOException {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(workbook), sha256)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return sha256.digest();
+    }
+
+    /**
+     * Read the cached items if the cache was written for a workbook with this size and digest.
+     *
+     * @param workbookSize size of the workbook in bytes
+     * @param workbookDigest SHA-256 of the workbook
+     * @return cached items in workbook order, or {@code null} on a miss
+     */
+    List<FoodItem> read(long workbookSize, byte[] workbookDigest) {
+        if (!Files.isRegularFile(cachePath)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(cachePath, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 2 * Integer.BYTES + Long.BYTES + DIGEST_LENGTH + Integer.BYTES
+                    || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION
+                    || buffer.getLong() != workbookSize) {
+                return null;
+            }
+            byte[] digest = new byte[DIGEST_LENGTH];
+            buffer.get(digest);
+            if (!Arrays.equals(digest, workbookDigest)) {
+                return null;
+            }
+
+            int count = buffer.getInt();
+            if (count < 0 || count > buffer.remaining() / MIN_RECORD_LENGTH) {
+                return corrupt();
+            }
+            MealType[] mealTypes = MealType.values();
+            List<FoodItem> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int calories = buffer.getInt();
+                int protein = buffer.getInt();
+                int carbs = buffer.getInt();
+                int fat = buffer.getInt();
+                int mealType = buffer.get();
+                byte[] description = new byte[buffer.getInt()];
+                buffer.get(description);
+                if (mealType < 0 || mealType >= mealTypes.length) {
+                    return corrupt();
+                }
+                items.add(new FoodItem(new String(description, StandardCharsets.UTF_8), calories, protein, carbs, fat,
+                    mealTypes[mealType]));
+            }
+            return buffer.hasRemaining() ? corrupt() : items;
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            return corrupt();
+        } catch (IOException e) {
+            log.warn("Could not read food catalog cache {}", cachePath, e);
+            return null;
+        }
+    }
+
+    /**
+     * Replace the cache with the given items. The file is written beside the cache and moved into
+     * place, so a crash never leaves a half-written cache behind under the real name.
+     *
+     * @param workbookSize size of the workbook the items were parsed from
+     * @param workbookDigest SHA-256 of that workbook
+     * @param items parsed items in workbook order
+     * @throws IOException when the cache cannot be written
+     */
+    void write(long workbookSize, byte[] workbookDigest, List<FoodItem> items) throws IOException {
+        Path tmp = cachePath.resolveSibling(cachePath.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(workbookSize);
+            out.write(workbookDigest);
+            out.writeInt(items.size());
+            for (FoodItem item : items) {
+                byte[] description = item.getDescription().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(item.getCalories());
+                out.writeInt(item.getProtein());
+                out.writeInt(item.getCarbs());
+                out.writeInt(item.getFat());
+                out.writeByte(item.getMealType().ordinal());
+                out.writeInt(description.length);
+                out.write(description);
+            }
+        }
+        try {
+            Files.move(tmp, cachePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(tmp, cachePath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private List<FoodItem> corrupt() {
+        log.warn("Ignoring corrupt food catalog cache {}", cachePath);
+        return null;
+    }
+}
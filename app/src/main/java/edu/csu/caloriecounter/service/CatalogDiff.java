@@ -0,0 +1,96 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Difference between two catalog versions, keyed by {@link CatalogSnapshot#key(String) normalized
+ * description}: foods that appeared, foods that disappeared, and foods whose nutrients or meal type
+ * changed. Produced by a reload so dependent structures can be updated instead of rebuilt.
+ */
+public final class CatalogDiff {
+    private static final CatalogDiff NONE = new CatalogDiff(List.of(), List.of(), List.of());
+
+    private final List<FoodItem> added;
+    private final List<FoodItem> removed;
+    private final List<Change> changed;
+
+    private CatalogDiff(List<FoodItem> added, List<FoodItem> removed, List<Change> changed) {
+        this.added = List.copyOf(added);
+        this.removed = List.copyOf(removed);
+        this.changed = List.copyOf(changed);
+    }
+
+    /** @return a diff with no changes. */
+    static CatalogDiff none() {
+        return NONE;
+    }
+
+    /**
+     * Compare a published snapshot with a freshly loaded item list. Only the first row for each
+     * description is compared, matching how duplicates are treated everywhere else; every row of a
+     * description that disappeared is reported as removed.
+     *
+     * @param before currently published snapshot
+     * @param after newly loaded catalog contents
+     * @return the diff
+     */
+    static CatalogDiff between(CatalogSnapshot before, List<FoodItem> after) {
+        Map<String, FoodItem> afterByKey = new HashMap<>(Math.max(16, after.size() * 4 / 3 + 1));
+        List<FoodItem> added = new ArrayList<>();
+        List<Change> changed = new ArrayList<>();
+        for (FoodItem item : after) {
+            String key = CatalogSnapshot.key(item.getDescription());
+            if (afterByKey.putIfAbsent(key, item) != null) {
+                continue;
+            }
+            FoodItem previous = before.get(item.getDescription());
+            if (previous == null) {
+                added.add(item);
+            } else if (!previous.equals(item)) {
+                changed.add(new Change(previous, item));
+            }
+        }
+
+        List<FoodItem> removed = new ArrayList<>();
+        for (FoodItem item : before.getFoods()) {
+            String key = CatalogSnapshot.key(item.getDescription());
+            if (!afterByKey.containsKey(key)) {
+                removed.add(item);
+            }
+        }
+        return new CatalogDiff(added, removed, changed);
+    }
+
+    /** @return foods whose description was not present before. */
+    public List<FoodItem> getAdded() { return added; }
+
+    /** @return foods whose description is no longer present. */
+    public List<FoodItem> getRemoved() { return removed; }
+
+    /** @return foods present in both versions with different values. */
+    public List<Change> getChanged() { return changed; }
+
+    /** @return whether the two versions hold the same foods. */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "+" + added.size() + " -" + removed.size() + " ~" + changed.size();
+    }
+
+    /**
+     * One food whose values changed between versions.
+     *
+     * @param previous the food as it was
+     * @param current the food as it is now
+     */
+    public record Change(FoodItem previous, FoodItem current) {
+    }
+}
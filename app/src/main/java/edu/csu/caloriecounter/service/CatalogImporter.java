@@ -0,0 +1,437 @@
+package edu.csu.caloriecounter.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.MealType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk import of catalog foods from a CSV or NDJSON stream.
+ *
+ * The upload is parsed row by row on the calling thread and validated with the workbook rules
+ * ({@link CatalogSheetHandler#resolveColumns(Map)}, {@link CatalogSheetHandler#parseInt(String)},
+ * {@link CatalogSheetHandler#parseMealType(String)}). Accepted rows are grouped into batches of
+ * {@value #BATCH_SIZE} and handed through a bounded queue to a committer thread, which adds each batch
+ * with {@link FoodCatalogService#addAllToCatalog(List)}: one journal write and one snapshot publish
+ * per batch, de-duplicated against the live catalog. When the committer falls behind the queue fills
+ * and the parser blocks, which in turn stops reading the request body, so at most
+ * {@value #QUEUE_CAPACITY} + 2 batches are held in memory whatever the size of the upload. A row is
+ * buffered only up to {@value #MAX_ROW_CHARS} characters ({@value #MAX_FIELD_CHARS} per CSV field); a
+ * longer row, such as one opened by an unterminated quote, is skipped to its end without being held and
+ * rejected. Committers run on a fixed pool of {@code catalog.import.committers} threads (default
+ * {@value #DEFAULT_COMMITTERS}); further imports wait for a free committer. The parser waits at most
+ * {@value #ENQUEUE_TIMEOUT_SECONDS}s for room in the queue, whether the committer is slow or not yet
+ * running, and then gives up with a {@link RejectedExecutionException} instead of holding the request
+ * thread.
+ */
+@Service
+public class CatalogImporter {
+    private static final Logger log = LoggerFactory.getLogger(CatalogImporter.class);
+    private static final int BATCH_SIZE = 5000;
+    private static final int QUEUE_CAPACITY = 4;
+    private static final int MAX_ERRORS = 20;
+    private static final int DEFAULT_COMMITTERS = 2;
+    private static final long ENQUEUE_TIMEOUT_SECONDS = 30;
+    private static final long ENQUEUE_POLL_MILLIS = 100;
+    /** Longest CSV record or NDJSON line that is parsed. */
+    static final int MAX_ROW_CHARS = 64 * 1024;
+    /** Longest CSV field that is parsed. */
+    static final int MAX_FIELD_CHARS = 4 * 1024;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final FoodCatalogService catalogService;
+    private final ExecutorService committers;
+
+    public CatalogImporter(FoodCatalogService catalogService) {
+        this(catalogService, DEFAULT_COMMITTERS);
+    }
+
+    /**
+     * @param catalogService catalog the foods are added to
+     * @param committers maximum number of imports committing at the same time
+     */
+    @Autowired
+    public CatalogImporter(FoodCatalogService catalogService,
+                           @Value("${catalog.import.committers:" + DEFAULT_COMMITTERS + "}") int committers) {
+        this.catalogService = catalogService;
+        AtomicInteger threads = new AtomicInteger();
+        this.committers = Executors.newFixedThreadPool(committers, runnable -> {
+            Thread thread = new Thread(runnable, "catalog-import-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** Supported upload formats. */
+    public enum Format {
+        /** Comma-separated values with a header row naming the catalog columns. */
+        CSV,
+        /** One JSON object per line, keyed by the catalog column names. */
+        NDJSON
+    }
+
+    /**
+     * Summary of one import.
+     *
+     * @param rows data rows read
+     * @param added foods added to the catalog
+     * @param duplicates valid rows skipped because the description was already in the catalog
+     * @param rejected rows that failed validation
+     * @param errors the first few validation messages
+     */
+    public record Result(int rows, int added, int duplicates, int rejected, List<String> errors) {
+    }
+
+    /**
+     * Import foods from an upload.
+     *
+     * @param in request body (UTF-8); read to the end but not closed
+     * @param format body format
+     * @return counts of what happened to the rows
+     * @throws IllegalArgumentException when a CSV header lacks the description or meal type column
+     * @throws RejectedExecutionException when no committer took a batch within
+     *                                    {@value #ENQUEUE_TIMEOUT_SECONDS}s; batches committed before
+     *                                    stay in the catalog
+     * @throws IOException when the body cannot be read or a batch cannot be journaled; batches
+     *                     committed before the failure stay in the catalog
+     */
+    public Result importFoods(InputStream in, Format format) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        AtomicInteger added = new AtomicInteger();
+        Future<?> committer = committers.submit(() -> commit(queue, added));
+
+        Tally tally = new Tally();
+        try {
+            List<FoodItem> batch = new ArrayList<>(BATCH_SIZE);
+            RowSource rows = format == Format.CSV ? csvRows(reader) : ndjsonRows(reader);
+            for (Row row = rows.next(); row != null; row = rows.next()) {
+                tally.rows++;
+                if (row.oversized()) {
+                    tally.reject("longer than " + MAX_ROW_CHARS + " characters or a field longer than "
+                        + MAX_FIELD_CHARS);
+                    continue;
+                }
+                FoodItem item = toFoodItem(row.values(), tally);
+                if (item == null) {
+                    continue;
+                }
+                tally.valid++;
+                batch.add(item);
+                if (batch.size() == BATCH_SIZE) {
+                    enqueue(queue, new Batch(batch, false), committer);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+            enqueue(queue, new Batch(batch, true), committer);
+            committer.get();
+        } catch (InterruptedException e) {
+            committer.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("Catalog import interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException io ? io : new IOException("Catalog import failed", cause);
+        } catch (IOException | RuntimeException e) {
+            committer.cancel(true);
+            throw e;
+        }
+
+        Result result = new Result(tally.rows, added.get(), tally.valid - added.get(), tally.rows - tally.valid,
+            List.copyOf(tally.errors));
+        log.info("Imported {} of {} catalog rows ({} duplicates, {} rejected)", result.added(), result.rows(),
+            result.duplicates(), result.rejected());
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        committers.shutdownNow();
+    }
+
+    private Void commit(BlockingQueue<Batch> queue, AtomicInteger added) throws IOException, InterruptedException {
+        while (true) {
+            Batch batch = queue.take();
+            if (!batch.items().isEmpty()) {
+                added.addAndGet(catalogService.addAllToCatalog(batch.items()));
+            }
+            if (batch.last()) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Offer in short steps so a committer that died with an error cannot leave the parser blocked (its
+     * failure is rethrown instead), and give up once the queue has been full for
+     * {@value #ENQUEUE_TIMEOUT_SECONDS}s.
+     */
+    private static void enqueue(BlockingQueue<Batch> queue, Batch batch, Future<?> committer)
+            throws InterruptedException, ExecutionException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(ENQUEUE_TIMEOUT_SECONDS);
+        while (!queue.offer(batch, ENQUEUE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (committer.isDone()) {
+                committer.get();
+            }
+            if (System.nanoTime() - deadline > 0) {
+                throw new RejectedExecutionException("Catalog import committers are busy; try again later");
+            }
+        }
+    }
+
+    private static FoodItem toFoodItem(Map<String, String> row, Tally tally) {
+        String description = row.getOrDefault("description", "").trim();
+        if (description.isEmpty()) {
+            tally.reject("missing description");
+            return null;
+        }
+        MealType mealType = CatalogSheetHandler.parseMealType(row.get("mealtype"));
+        if (mealType == null) {
+            tally.reject("unknown meal type '" + row.getOrDefault("mealtype", "") + "'");
+            return null;
+        }
+        return new FoodItem(description,
+            CatalogSheetHandler.parseInt(row.get("calories")),
+            CatalogSheetHandler.parseInt(row.get("protein")),
+            CatalogSheetHandler.parseInt(row.get("carbs")),
+            CatalogSheetHandler.parseInt(row.get("fat")),
+            mealType);
+    }
+
+    private static RowSource csvRows(BufferedReader reader) throws IOException {
+        CsvRecord first = readCsvRecord(reader);
+        List<String> header = first == null || first.oversized() ? List.of() : first.fields();
+        Map<Integer, String> headerCells = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Spreadsheet exports often start with a UTF-8 byte order mark.
+            headerCells.put(i, i == 0 ? header.get(i).replace("\uFEFF", "") : header.get(i));
+        }
+        Map<String, Integer> columns = CatalogSheetHandler.resolveColumns(headerCells);
+        if (!columns.containsKey("description") || !columns.containsKey("mealtype")) {
+            throw new IllegalArgumentException("CSV header must name at least the Description and MealType columns");
+        }
+
+        return () -> {
+            CsvRecord record = readCsvRecord(reader);
+            while (record != null && !record.oversized() && record.fields().size() == 1
+                && record.fields().get(0).isBlank()) {
+                record = readCsvRecord(reader);
+            }
+            if (record == null) {
+                return null;
+            }
+            if (record.oversized()) {
+                return Row.OVERSIZED;
+            }
+            Map<String, String> row = new HashMap<>();
+            for (Map.Entry<String, Integer> column : columns.entrySet()) {
+                if (column.getValue() < record.fields().size()) {
+                    row.put(column.getKey(), record.fields().get(column.getValue()));
+                }
+            }
+            return new Row(row, false);
+        };
+    }
+
+    private static RowSource ndjsonRows(BufferedReader reader) {
+        return () -> {
+            Line line = readLine(reader);
+            while (line != null && !line.oversized() && line.text().isBlank()) {
+                line = readLine(reader);
+            }
+            if (line == null) {
+                return null;
+            }
+            if (line.oversized()) {
+                return Row.OVERSIZED;
+            }
+            Map<String, String> row = new HashMap<>();
+            try {
+                JsonNode node = MAPPER.readTree(line.text());
+                if (node != null && node.isObject()) {
+                    node.fields().forEachRemaining(field -> {
+                        if (!field.getValue().isNull()) {
+                            row.put(field.getKey().trim().toLowerCase(Locale.ROOT), field.getValue().asText());
+                        }
+                    });
+                }
+            } catch (JsonProcessingException e) {
+                // An unparseable line becomes an empty row and is rejected for its missing description.
+            }
+            return new Row(row, false);
+        };
+    }
+
+    /**
+     * Read one line of at most {@value #MAX_ROW_CHARS} characters; a longer line is consumed to its end
+     * without being buffered.
+     *
+     * @return the line without its terminator, or {@code null} at end of input
+     */
+    static Line readLine(Reader reader) throws IOException {
+        StringBuilder line = new StringBuilder();
+        boolean oversized = false;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1 && c != '\n') {
+            if (line.length() == MAX_ROW_CHARS) {
+                oversized = true;
+                line.setLength(0);
+            }
+            if (!oversized && c != '\r') {
+                line.append((char) c);
+            }
+            c = reader.read();
+        }
+        return oversized ? Line.OVERSIZED : new Line(line.toString(), false);
+    }
+
+    /**
+     * Read one CSV record (RFC 4180: quoted fields may contain commas, doubled quotes and line breaks).
+     * A record longer than {@value #MAX_ROW_CHARS} characters, or with a field longer than
+     * {@value #MAX_FIELD_CHARS}, is consumed to its end without being buffered.
+     *
+     * @return the record, or {@code null} at end of input
+     */
+    static CsvRecord readCsvRecord(Reader reader) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStarted = false;
+        boolean oversized = false;
+        int length = 0;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1) {
+            if (!oversized && (++length > MAX_ROW_CHARS || field.length() > MAX_FIELD_CHARS)) {
+                oversized = true;
+                fields.clear();
+                field.setLength(0);
+            }
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        append(field, '"', oversized);
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    append(field, c, oversized);
+                }
+            } else if (c == '"' && !fieldStarted) {
+                quoted = true;
+            } else if (c == ',') {
+                if (!oversized) {
+                    fields.add(field.toString());
+                }
+                field.setLength(0);
+                fieldStarted = false;
+                c = reader.read();
+                continue;
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                append(field, c, oversized);
+            }
+            fieldStarted = true;
+            c = reader.read();
+        }
+        if (oversized || field.length() > MAX_FIELD_CHARS) {
+            return CsvRecord.OVERSIZED;
+        }
+        fields.add(field.toString());
+        return new CsvRecord(fields, false);
+    }
+
+    private static void append(StringBuilder field, int c, boolean oversized) {
+        if (!oversized) {
+            field.append((char) c);
+        }
+    }
+
+    /**
+     * One line of an NDJSON upload.
+     *
+     * @param text the line without its terminator; empty when oversized
+     * @param oversized whether the line exceeded {@value #MAX_ROW_CHARS} characters and was skipped
+     */
+    record Line(String text, boolean oversized) {
+        static final Line OVERSIZED = new Line("", true);
+    }
+
+    /**
+     * One CSV record.
+     *
+     * @param fields the fields in order; empty when oversized
+     * @param oversized whether the record exceeded a length limit and was skipped
+     */
+    record CsvRecord(List<String> fields, boolean oversized) {
+        static final CsvRecord OVERSIZED = new CsvRecord(List.of(), true);
+    }
+
+    /** A parsed row keyed by lower-case column name, or a row that was skipped for its length. */
+    private record Row(Map<String, String> values, boolean oversized) {
+        static final Row OVERSIZED = new Row(Map.of(), true);
+    }
+
+    /** Accepted foods handed to the committer; {@code last} marks the end of the upload. */
+    private record Batch(List<FoodItem> items, boolean last) {
+    }
+
+    /** Source of parsed rows. */
+    @FunctionalInterface
+    private interface RowSource {
+        /** @return the next row, or {@code null} at end of input */
+        Row next() throws IOException;
+    }
+
+    /** Running counts for one import. */
+    private static final class Tally {
+        private int rows;
+        private int valid;
+        private final List<String> errors = new ArrayList<>();
+
+        void reject(String reason) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add("Row " + rows + ": " + reason);
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.MealType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Append-only journal of catalog items that have been accepted but not yet written to the workbook.
+ *
+ * Each item is one tab-separated line ({@code description, calories, protein, carbs, fat, mealType})
+ * with tabs, newlines and backslashes in the description escaped. Compaction works on a snapshot of the
+ * journal: {@link #beginCompaction()} moves the active file aside so new appends start a fresh journal,
+ * and {@link #finishCompaction()} deletes the snapshot once its items are safely in the workbook. A
+ * snapshot left behind by a crash is picked up again by the next compaction or startup replay.
+ *
+ * Appends are not fsync'd: entries survive a process crash but not an OS crash or power loss.
+ * Callers are responsible for serializing {@link #append} with {@link #beginCompaction()}.
+ */
+class CatalogJournal {
+    private static final Logger log = LoggerFactory.getLogger(CatalogJournal.class);
+
+    private final Path journalPath;
+    private final Path compactingPath;
+
+    /**
+     * @param journalPath location of the active journal; the compaction snapshot lives beside it
+     */
+    CatalogJournal(Path journalPath) {
+        this.journalPath = journalPath;
+        this.compactingPath = journalPath.resolveSibling(journalPath.getFileName() + ".compacting");
+    }
+
+    /** @return location of the active journal file. */
+    Path getPath() { return journalPath; }
+
+    /**
+     * Append items to the active journal with a single write.
+     *
+     * @param items items to record
+     * @throws IOException when the journal cannot be written
+     */
+    void append(Collection<FoodItem> items) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (FoodItem item : items) {
+            lines.append(encode(item)).append('\n');
+        }
+        if (journalPath.getParent() != null) {
+            Files.createDirectories(journalPath.getParent());
+        }
+        Files.write(journalPath, lines.toString().getBytes(StandardCharsets.UTF_8),
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Move the active journal aside for compaction. An unfinished snapshot from an earlier attempt is
+     * returned as-is so it is retried before anything newer.
+     *
+     * @return the snapshot to compact, or {@code null} when there is nothing pending
+     * @throws IOException when the journal cannot be moved
+     */
+    Path beginCompaction() throws IOException {
+        if (Files.exists(compactingPath)) {
+            return compactingPath;
+        }
+        if (!Files.exists(journalPath) || Files.size(journalPath) == 0) {
+            return null;
+        }
+        move(journalPath, compactingPath);
+        return compactingPath;
+    }
+
+    /**
+     * Discard the compaction snapshot after its items have been written to the workbook.
+     *
+     * @throws IOException when the snapshot cannot be deleted
+     */
+    void finishCompaction() throws IOException {
+        Files.deleteIfExists(compactingPath);
+    }
+
+    /**
+     * Read every pending item, oldest first: an unfinished compaction snapshot, then the active journal.
+     *
+     * @return pending items (may contain descriptions that were already compacted before a crash)
+     * @throws IOException when a journal file cannot be read
+     */
+    List<FoodItem> readPending() throws IOException {
+        List<FoodItem> items = new ArrayList<>(read(compactingPath));
+        items.addAll(read(journalPath));
+        return items;
+    }
+
+    /**
+     * Replace all pending state with the given items. Used after startup replay to drop entries that
+     * already made it into the workbook.
+     *
+     * @param items items that are still waiting for compaction
+     * @throws IOException when the journal cannot be rewritten
+     */
+    void rewrite(List<FoodItem> items) throws IOException {
+        if (items.isEmpty()) {
+            Files.deleteIfExists(journalPath);
+        } else {
+            Path tmp = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+            try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                for (FoodItem item : items) {
+                    out.write(encode(item));
+                    out.write('\n');
+                }
+            }
+            move(tmp, journalPath);
+        }
+        Files.deleteIfExists(compactingPath);
+    }
+
+    /**
+     * Read the items recorded in one journal file. Malformed lines (for example a torn final write)
+     * are logged and skipped.
+     *
+     * @param path journal file to read
+     * @return decoded items in file order; empty when the file does not exist
+     * @throws IOException when the file cannot be read
+     */
+    List<FoodItem> read(Path path) throws IOException {
+        List<FoodItem> items = new ArrayList<>();
+        if (!Files.exists(path)) {
+            return items;
+        }
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty()) {
+                    continue;
+                }
+                FoodItem item = decode(line);
+                if (item == null) {
+                    log.warn("Ignoring malformed catalog journal line {} in {}", lineNumber, path);
+                    continue;
+                }
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    private static String encode(FoodItem item) {
+        return escape(item.getDescription()) + '\t' + item.getCalories() + '\t' + item.getProtein() + '\t'
+            + item.getCarbs() + '\t' + item.getFat() + '\t' + item.getMealType().name();
+    }
+
+    private static FoodItem decode(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != 6) {
+            return null;
+        }
+        try {
+            MealType mealType = MealType.valueOf(fields[5]);
+            return new FoodItem(unescape(fields[0]), Integer.parseInt(fields[1]), Integer.parseInt(fields[2]),
+                Integer.parseInt(fields[3]), Integer.parseInt(fields[4]), mealType);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String value) {
+        StringBuilder out = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '\\' || i + 1 == value.length()) {
+                out.append(c);
+                continue;
+            }
+            char next = value.charAt(++i);
+            switch (next) {
+                case 't':
+                    out.append('\t');
+                    break;
+                case 'n':
+                    out.append('\n');
+                    break;
+                case 'r':
+                    out.append('\r');
+                    break;
+                default:
+                    out.append(next);
+                    break;
+            }
+        }
+        return out.toString();
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package edu.csu.caloriecounter.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.csu.caloriecounter.domain.FoodItem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Immutable, pre-serialized form of one catalog version, served by the catalog snapshot endpoint.
+ *
+ * The JSON body ({@code {"foods": [...]}}) and its gzip encoding are produced once when the payload is
+ * created, so serving the catalog is a byte copy. The body holds only the foods, and the entity tag is
+ * a digest of it, so the same foods get the same tag whatever version number the local process gave
+ * them. The tag therefore stays valid across restarts and between instances that loaded the same
+ * workbook. The version travels separately (see {@link #getVersion()}).
+ */
+public final class CatalogPayload {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final long version;
+    private final byte[] json;
+    private final byte[] gzip;
+    private final String etag;
+
+    private CatalogPayload(long version, byte[] json, byte[] gzip, String etag) {
+        this.version = version;
+        this.json = json;
+        this.gzip = gzip;
+        this.etag = etag;
+    }
+
+    /**
+     * Serialize and compress a catalog version.
+     *
+     * @param version catalog version the items belong to
+     * @param foods catalog contents at that version
+     * @return the payload
+     */
+    static CatalogPayload of(long version, List<FoodItem> foods) {
+        try {
+            byte[] json = MAPPER.writeValueAsBytes(Map.of("foods", foods));
+            return new CatalogPayload(version, json, gzip(json), "\"" + digest(json) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** @return catalog version this payload was built from. */
+    public long getVersion() { return version; }
+
+    /** @return UTF-8 JSON body. */
+    public byte[] getJson() { return json; }
+
+    /** @return gzip-compressed JSON body. */
+    public byte[] getGzip() { return gzip; }
+
+    /**
+     * @param gzipped whether the gzip representation is being served
+     * @return strong entity tag for the chosen representation (quoted)
+     */
+    public String getEtag(boolean gzipped) {
+        return gzipped ? etag.substring(0, etag.length() - 1) + "-gzip\"" : etag;
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(data.length / 4, 64));
+        try (GZIPOutputStream zip = new GZIPOutputStream(out)) {
+            zip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String digest(byte[] data) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(data);
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.MealType;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Row callback for POI's event (SAX) model that converts catalog rows into {@link FoodItem}s as the
+ * sheet XML is streamed.
+ *
+ * Row 0 is treated as the header and resolved through {@link #resolveColumns(Map)}; every later row
+ * is converted with the {@link #parseInt(String)} / {@link #parseMealType(String)} rules and handed to
+ * the supplied sink. Only the cells of the current row are held in memory, so the cost of reading a
+ * sheet does not grow with its row count.
+ */
+class CatalogSheetHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+    private static final Logger log = LoggerFactory.getLogger(CatalogSheetHandler.class);
+
+    private final Consumer<FoodItem> sink;
+    private final Map<Integer, String> currentRow = new HashMap<>();
+    private Map<String, Integer> columns = Map.of();
+    private int currentColumn;
+    private int rowsSkipped;
+
+    /**
+     * @param sink receives each converted {@link FoodItem} in sheet order
+     */
+    CatalogSheetHandler(Consumer<FoodItem> sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Formatter handed to {@link XSSFSheetXMLHandler}. Numeric cells are rendered as their raw value
+     * (ignoring display formats such as thousands separators) so {@link #parseInt(String)} sees the
+     * same number the old DOM loader read from {@code Cell#getNumericCellValue()}.
+     */
+    static DataFormatter rawNumberFormatter() {
+        return new DataFormatter() {
+            @Override
+            public String formatRawCellContents(double value, int formatIndex, String formatString) {
+                return NumberToTextConverter.toText(value);
+            }
+        };
+    }
+
+    @Override
+    public void startRow(int rowNum) {
+        currentRow.clear();
+        currentColumn = -1;
+    }
+
+    @Override
+    public void endRow(int rowNum) {
+        if (rowNum == 0) {
+            columns = resolveColumns(currentRow);
+            return;
+        }
+        if (columns.isEmpty()) {
+            return;
+        }
+
+        String description = value("description").trim();
+        if (description.isEmpty()) {
+            return;
+        }
+
+        int calories = parseInt(value("calories"));
+        int protein = parseInt(value("protein"));
+        int carbs = parseInt(value("carbs"));
+        int fat = parseInt(value("fat"));
+
+        MealType mealType = parseMealType(value("mealtype"));
+        if (mealType == null) {
+            log.warn("Skipping row {} due to unknown meal type", rowNum + 1);
+            rowsSkipped++;
+            return;
+        }
+
+        sink.accept(new FoodItem(description, calories, protein, carbs, fat, mealType));
+    }
+
+    @Override
+    public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+        // Cell references are optional in SpreadsheetML; fall back to the next column when absent.
+        currentColumn = cellReference != null ? new CellReference(cellReference).getCol() : currentColumn + 1;
+        currentRow.put(currentColumn, formattedValue);
+    }
+
+    /** @return whether row 0 contained at least one recognised catalog header. */
+    boolean hasHeader() { return !columns.isEmpty(); }
+
+    /** @return number of data rows dropped because their meal type could not be resolved. */
+    int getRowsSkipped() { return rowsSkipped; }
+
+    private String value(String column) {
+        Integer index = columns.get(column);
+        if (index == null) {
+            return "";
+        }
+        String value = currentRow.get(index);
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Map the recognised header names (case-insensitive) to their column index.
+     *
+     * @param header header cell text keyed by column index
+     * @return column index keyed by lower-case column name; empty when no header is recognised
+     */
+    static Map<String, Integer> resolveColumns(Map<Integer, String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        if (header == null) {
+            return columns;
+        }
+
+        for (Map.Entry<Integer, String> cell : header.entrySet()) {
+            String name = cell.getValue();
+            if (name == null) {
+                continue;
+            }
+
+            switch (name.trim().toLowerCase(Locale.ROOT)) {
+                case "description":
+                    columns.put("description", cell.getKey());
+                    break;
+                case "calories":
+                    columns.put("calories", cell.getKey());
+                    break;
+                case "protein":
+                    columns.put("protein", cell.getKey());
+                    break;
+                case "carbs":
+                    columns.put("carbs", cell.getKey());
+                    break;
+                case "fat":
+                    columns.put("fat", cell.getKey());
+                    break;
+                case "mealtype":
+                    columns.put("mealtype", cell.getKey());
+                    break;
+                default:
+                    break;
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Parse a nutrient value. Whole numbers are read as-is and decimal values are rounded, matching
+     * how numeric cells were treated; anything else defaults to 0.
+     *
+     * @param value cell text (may be {@code null} or blank)
+     * @return parsed integer value, or 0 when the value is missing or not numeric
+     */
+    static int parseInt(String value) {
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        String trimmed = value.trim();
+        try {
+            return Integer.parseInt(trimmed);
+        } catch (NumberFormatException ignored) {
+            // fall through to decimal parsing
+        }
+        try {
+            return (int) Math.round(Double.parseDouble(trimmed));
+        } catch (NumberFormatException ex) {
+            log.warn("Could not parse numeric value '{}' in catalog; defaulting to 0", value);
+            return 0;
+        }
+    }
+
+    /**
+     * Resolve a {@link MealType} by name (case-insensitive).
+     *
+     * @param value cell text (may be {@code null} or blank)
+     * @return the matching meal type, or {@code null} when the value is missing or unknown
+     */
+    static MealType parseMealType(String value) {
+        if (value == null) {
+            return null;
+        }
+        String name = value.trim();
+        if (name.isEmpty()) {
+            return null;
+        }
+        try {
+            return MealType.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+
+import java.util.*;
+
+/**
+ * Immutable view of the catalog at one version, published by {@link FoodCatalogService} through an
+ * atomic reference so readers never take a lock.
+ *
+ * Besides the item list the snapshot carries a hash index keyed by {@link #key(String) normalized
+ * description} for O(1) duplicate checks, the typeahead {@link FoodSearchIndex}, and a lazily built
+ * {@link CatalogPayload}, plus a {@link NutrientIndex} over the base list for nutrient range queries
+ * that is only built the first time such a query runs. Appends share the large base structures with
+ * the previous snapshot and only copy a small side list, which is merged into a new base once it grows
+ * past {@value #MERGE_THRESHOLD} items, so publishing a snapshot does not cost a full catalog copy.
+ *
+ * In columnar mode the base is a {@link ColumnarCatalog} instead of a list of objects, and it also
+ * answers duplicate checks, so no per-food object or map entry is kept for it. Because the search index
+ * only keeps row ids while its own side list holds the appended items, a columnar base is merged
+ * together with a search index rebuild once {@value FoodSearchIndex#REBUILD_THRESHOLD} items are
+ * pending, and a reload rebuilds the search index instead of applying the diff.
+ */
+final class CatalogSnapshot {
+    private static final int MERGE_THRESHOLD = 1024;
+
+    private final long version;
+    private final List<FoodItem> base;
+    // the base again when it is columnar, otherwise null
+    private final ColumnarCatalog columns;
+    private final Map<String, FoodItem> baseKeys;
+    private final List<FoodItem> appended;
+    private final Map<String, FoodItem> appendedKeys;
+    private final FoodSearchIndex searchIndex;
+    private final BaseIndex baseIndex;
+    private final List<FoodItem> foods;
+    private volatile CatalogPayload payload;
+
+    private CatalogSnapshot(long version, List<FoodItem> base, Map<String, FoodItem> baseKeys,
+                            List<FoodItem> appended, Map<String, FoodItem> appendedKeys, FoodSearchIndex searchIndex,
+                            BaseIndex baseIndex) {
+        this.version = version;
+        this.base = base;
+        this.columns = base instanceof ColumnarCatalog columnar ? columnar : null;
+        this.baseKeys = baseKeys;
+        this.appended = appended;
+        this.appendedKeys = appendedKeys;
+        this.searchIndex = searchIndex;
+        this.baseIndex = baseIndex;
+        this.foods = appended.isEmpty() ? base : new ConcatenatedList(base, appended);
+    }
+
+    /** @return an empty snapshot at version 0. */
+    static CatalogSnapshot empty() {
+        return of(0, List.of());
+    }
+
+    /**
+     * Build a snapshot from scratch. Every row is kept in order; for duplicate descriptions the key
+     * index points at the first occurrence.
+     *
+     * @param version version number of the new snapshot
+     * @param foods catalog items; the list is copied
+     * @return the snapshot
+     */
+    static CatalogSnapshot of(long version, List<FoodItem> foods) {
+        return of(version, foods, false);
+    }
+
+    /**
+     * Build a snapshot from scratch, optionally with a columnar base.
+     *
+     * @param version version number of the new snapshot
+     * @param foods catalog items; copied into a list or into columns
+     * @param columnar whether to store the base as a {@link ColumnarCatalog}
+     * @return the snapshot
+     */
+    static CatalogSnapshot of(long version, List<FoodItem> foods, boolean columnar) {
+        List<FoodItem> base = columnar ? ColumnarCatalog.of(foods) : List.copyOf(foods);
+        return withBase(version, base, FoodSearchIndex.build(base));
+    }
+
+    private static CatalogSnapshot withBase(long version, List<FoodItem> foods, FoodSearchIndex searchIndex) {
+        // A columnar base answers key lookups itself.
+        Map<String, FoodItem> keys = Map.of();
+        if (!(foods instanceof ColumnarCatalog)) {
+            keys = new HashMap<>(Math.max(16, foods.size() * 4 / 3 + 1));
+            for (FoodItem item : foods) {
+                keys.putIfAbsent(key(item.getDescription()), item);
+            }
+            keys = Collections.unmodifiableMap(keys);
+        }
+        return new CatalogSnapshot(version, foods, keys, List.of(), Map.of(), searchIndex,
+            new BaseIndex(foods));
+    }
+
+    /**
+     * Build the snapshot that replaces this one after a reload. The key index is rebuilt from the new
+     * list, while the search index is updated from {@code diff} rather than rebuilt (in columnar mode
+     * it is rebuilt, since it holds no items to exclude).
+     *
+     * @param foods full catalog contents after the reload
+     * @param diff changes between this snapshot and {@code foods}
+     * @return a snapshot one version newer
+     */
+    CatalogSnapshot reload(List<FoodItem> foods, CatalogDiff diff) {
+        if (columns != null) {
+            return of(version + 1, foods, true);
+        }
+        List<FoodItem> copy = List.copyOf(foods);
+        return withBase(version + 1, copy, searchIndex.apply(diff, copy));
+    }
+
+    /**
+     * Normalized form of a description used for duplicate detection: trimmed and lower-cased.
+     *
+     * @param description food description
+     * @return the dedup key
+     */
+    static String key(String description) {
+        return description == null ? "" : description.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Return the items whose description is neither in this snapshot nor repeated earlier in
+     * {@code candidates}.
+     *
+     * @param candidates items to check
+     * @return new items in their original order
+     */
+    List<FoodItem> filterNew(Collection<FoodItem> candidates) {
+        Set<String> seen = new HashSet<>();
+        List<FoodItem> fresh = new ArrayList<>();
+        for (FoodItem item : candidates) {
+            String key = key(item.getDescription());
+            if (!containsKey(key) && seen.add(key)) {
+                fresh.add(item);
+            }
+        }
+        return fresh;
+    }
+
+    /**
+     * Derive the next snapshot with {@code items} appended. Callers must pass items already filtered
+     * through {@link #filterNew(Collection)}.
+     *
+     * @param items new, non-duplicate items
+     * @return a snapshot one version newer, or this snapshot when {@code items} is empty
+     */
+    CatalogSnapshot plus(List<FoodItem> items) {
+        if (items.isEmpty()) {
+            return this;
+        }
+        if (columns != null && appended.size() + items.size() > FoodSearchIndex.REBUILD_THRESHOLD) {
+            List<FoodItem> pending = new ArrayList<>(appended.size() + items.size());
+            pending.addAll(appended);
+            pending.addAll(items);
+            ColumnarCatalog merged = columns.plus(pending);
+            return withBase(version + 1, merged, FoodSearchIndex.build(merged));
+        }
+        // The search index manages its own side list, so it is extended rather than rebuilt here.
+        FoodSearchIndex nextIndex = searchIndex.plus(items);
+        if (columns == null && appended.size() + items.size() > MERGE_THRESHOLD) {
+            List<FoodItem> merged = new ArrayList<>(foods.size() + items.size());
+            merged.addAll(foods);
+            merged.addAll(items);
+            return withBase(version + 1, List.copyOf(merged), nextIndex);
+        }
+
+        List<FoodItem> nextAppended = new ArrayList<>(appended.size() + items.size());
+        nextAppended.addAll(appended);
+        nextAppended.addAll(items);
+        Map<String, FoodItem> nextKeys = new HashMap<>(appendedKeys);
+        for (FoodItem item : items) {
+            nextKeys.putIfAbsent(key(item.getDescription()), item);
+        }
+        return new CatalogSnapshot(version + 1, base, baseKeys, List.copyOf(nextAppended),
+            Collections.unmodifiableMap(nextKeys), nextIndex, baseIndex);
+    }
+
+    /** @return version number; increases with every published change. */
+    long getVersion() { return version; }
+
+    /** @return unmodifiable list of every item in load/append order. */
+    List<FoodItem> getFoods() { return foods; }
+
+    /** @return typeahead index over this snapshot's items. */
+    FoodSearchIndex getSearchIndex() { return searchIndex; }
+
+    /**
+     * @param description description to look up (case-insensitive, surrounding whitespace ignored)
+     * @return whether an item with that description exists
+     */
+    boolean contains(String description) {
+        return containsKey(key(description));
+    }
+
+    /**
+     * @param description description to look up (case-insensitive, surrounding whitespace ignored)
+     * @return the first item with that description, or {@code null}
+     */
+    FoodItem get(String description) {
+        String key = key(description);
+        FoodItem item;
+        if (columns != null) {
+            int row = columns.find(key);
+            item = row >= 0 ? columns.get(row) : null;
+        } else {
+            item = baseKeys.get(key);
+        }
+        return item != null ? item : appendedKeys.get(key);
+    }
+
+    /**
+     * Nutrient range query. The base items are answered from the nutrient index, and only the rows it
+     * returns are read from the base; items appended since the last merge are few and checked directly.
+     *
+     * @param filter ranges and meal type to match
+     * @param limit maximum number of results
+     * @return matching foods in catalog order
+     */
+    List<FoodItem> filter(NutrientFilter filter, int limit) {
+        NutrientIndex index = baseIndex.get();
+        List<FoodItem> results = new ArrayList<>();
+        for (int row : index.filter(filter, limit)) {
+            results.add(base.get(row));
+        }
+        for (int i = 0; i < appended.size() && results.size() < limit; i++) {
+            if (filter.matches(appended.get(i))) {
+                results.add(appended.get(i));
+            }
+        }
+        return results;
+    }
+
+    /** @return pre-serialized form of this snapshot, built on first use. */
+    CatalogPayload getPayload() {
+        CatalogPayload current = payload;
+        if (current == null) {
+            synchronized (this) {
+                current = payload;
+                if (current == null) {
+                    current = CatalogPayload.of(version, foods);
+                    payload = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private boolean containsKey(String key) {
+        boolean inBase = columns != null ? columns.find(key) >= 0 : baseKeys.containsKey(key);
+        return inBase || appendedKeys.containsKey(key);
+    }
+
+    /**
+     * Nutrient index of a base list, built on first use and shared by every snapshot with that base. A
+     * columnar base is indexed straight from its columns.
+     */
+    private static final class BaseIndex {
+        private final List<FoodItem> base;
+        private volatile NutrientIndex index;
+
+        BaseIndex(List<FoodItem> base) {
+            this.base = base;
+        }
+
+        NutrientIndex get() {
+            NutrientIndex current = index;
+            if (current == null) {
+                synchronized (this) {
+                    current = index;
+                    if (current == null) {
+                        current = base instanceof ColumnarCatalog columns ? NutrientIndex.over(columns)
+                            : NutrientIndex.of(base);
+                        index = current;
+                    }
+                }
+            }
+            return current;
+        }
+    }
+
+    /** Read-only random-access view over the shared base list followed by the appended items. */
+    private static final class ConcatenatedList extends AbstractList<FoodItem> implements RandomAccess {
+        private final List<FoodItem> head;
+        private final List<FoodItem> tail;
+
+        ConcatenatedList(List<FoodItem> head, List<FoodItem> tail) {
+            this.head = head;
+            this.tail = tail;
+        }
+
+        @Override
+        public FoodItem get(int index) {
+            return index < head.size() ? head.get(index) : tail.get(index - head.size());
+        }
+
+        @Override
+        public int size() {
+            return head.size() + tail.size();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package edu.csu.caloriecounter.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the catalog workbooks and asks {@link FoodCatalogService#reloadCatalog()} to pick up edits
+ * while the application is running. Enabled with {@code catalog.watch.enabled=true}.
+ *
+ * Spreadsheet editors usually save in several writes (or via a temporary file and rename), so events
+ * are debounced: the reload runs once no further change has been seen for
+ * {@code catalog.watch.debounce-ms} milliseconds. Reloads happen on the watcher thread; request
+ * threads keep serving the previous snapshot until the new one is published.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.watch.enabled", havingValue = "true")
+public class CatalogWatcher {
+    private static final Logger log = LoggerFactory.getLogger(CatalogWatcher.class);
+
+    private final FoodCatalogService catalogService;
+    private final long debounceMillis;
+    private WatchService watchService;
+
+    public CatalogWatcher(FoodCatalogService catalogService,
+                          @Value("${catalog.watch.debounce-ms:500}") long debounceMillis) {
+        this.catalogService = catalogService;
+        this.debounceMillis = debounceMillis;
+    }
+
+    /**
+     * Register the directory of every workbook with a {@link WatchService} and start the watcher
+     * thread.
+     *
+     * @throws IOException when a directory cannot be created or watched
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        Set<Path> workbooks = new HashSet<>(catalogService.getWorkbookPaths());
+        watchService = FileSystems.getDefault().newWatchService();
+        Set<Path> directories = new HashSet<>();
+        for (Path workbook : workbooks) {
+            Path directory = workbook.getParent();
+            if (directories.add(directory)) {
+                Files.createDirectories(directory);
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        }
+
+        Thread thread = new Thread(() -> watch(workbooks), "catalog-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Watching food catalog workbooks {} for changes", workbooks);
+    }
+
+    /**
+     * Stop watching. A reload that is already running is allowed to finish.
+     *
+     * @throws IOException when the watch service cannot be closed
+     */
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void watch(Set<Path> workbooks) {
+        try {
+            while (true) {
+                boolean changed = drain(watchService.take(), workbooks);
+                WatchKey next;
+                while (changed && (next = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    drain(next, workbooks);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // stop() was called
+        }
+    }
+
+    private static boolean drain(WatchKey key, Set<Path> workbooks) {
+        Path directory = (Path) key.watchable();
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || workbooks.contains(directory.resolve((Path) event.context()))) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    private void reload() {
+        try {
+            catalogService.reloadCatalog();
+        } catch (RuntimeException e) {
+            log.error("Food catalog reload failed", e);
+        }
+    }
+}
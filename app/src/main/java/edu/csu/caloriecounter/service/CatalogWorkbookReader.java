@@ -0,0 +1,212 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePartName;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reads every sheet of a set of catalog workbooks in parallel and merges the rows into one list.
+ *
+ * Each workbook is a fork-join task, and each sheet of a workbook on disk is a subtask that opens its
+ * own read-only view of the package, so sheets are parsed concurrently while sharing the workbook's
+ * shared-strings and styles tables. Rows are converted by {@link CatalogSheetHandler}. The merge is
+ * deterministic regardless of which task finishes first: workbooks in the given order, sheets in
+ * workbook order, and the first row for each {@link CatalogSnapshot#key(String) description} wins.
+ *
+ * Workbooks on disk are served from a {@link CatalogCache} beside them ({@code name.bin}) while their
+ * contents are unchanged; classpath workbooks are always parsed.
+ */
+class CatalogWorkbookReader {
+    private static final Logger log = LoggerFactory.getLogger(CatalogWorkbookReader.class);
+
+    private final ForkJoinPool pool;
+
+    /**
+     * @param pool pool the workbook and sheet tasks run on
+     */
+    CatalogWorkbookReader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Outcome of reading a set of workbooks.
+     *
+     * @param foods merged, de-duplicated items
+     * @param failures number of workbooks that could not be read and contributed no items
+     * @param rowsParsed rows converted to items (or read from a cache) before de-duplication
+     * @param rowsInvalid data rows dropped because their meal type could not be resolved
+     * @param rowsDuplicate items dropped because an earlier workbook or sheet had the same description
+     */
+    record Result(List<FoodItem> foods, int failures, long rowsParsed, long rowsInvalid, long rowsDuplicate) {
+    }
+
+    /**
+     * Read and merge the given workbooks. A workbook that fails to parse is logged and skipped.
+     *
+     * @param workbooks workbooks in priority order
+     * @return merged items plus the number of failed workbooks
+     */
+    Result read(List<Resource> workbooks) {
+        LongAdder invalid = new LongAdder();
+        List<ForkJoinTask<List<FoodItem>>> tasks = new ArrayList<>(workbooks.size());
+        for (Resource workbook : workbooks) {
+            tasks.add(pool.submit(ForkJoinTask.adapt(() -> readWorkbook(workbook, invalid))));
+        }
+
+        List<FoodItem> merged = new ArrayList<>();
+        Set<String> keys = new HashSet<>();
+        int failures = 0;
+        long parsed = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            List<FoodItem> items;
+            try {
+                items = tasks.get(i).join();
+            } catch (RuntimeException e) {
+                log.error("Failed to read food catalog {}", workbooks.get(i).getDescription(), e);
+                failures++;
+                continue;
+            }
+            parsed += items.size();
+            for (FoodItem item : items) {
+                if (keys.add(CatalogSnapshot.key(item.getDescription()))) {
+                    merged.add(item);
+                }
+            }
+        }
+        return new Result(merged, failures, parsed, invalid.sum(), parsed - merged.size());
+    }
+
+    /**
+     * @param workbook workbook file
+     * @return location of that workbook's binary cache: same directory and name, {@code .bin} extension
+     */
+    static Path cachePath(Path workbook) {
+        String name = workbook.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return workbook.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + ".bin");
+    }
+
+    private List<FoodItem> readWorkbook(Resource resource, LongAdder invalid)
+            throws IOException, OpenXML4JException, SAXException, ParserConfigurationException {
+        if (!resource.isFile()) {
+            return readSheets(resource, null, invalid);
+        }
+
+        Path file = resource.getFile().toPath();
+        CatalogCache cache = new CatalogCache(cachePath(file));
+        long size = Files.size(file);
+        byte[] digest = CatalogCache.digest(file);
+        List<FoodItem> cached = cache.read(size, digest);
+        if (cached != null) {
+            log.info("Loaded {} preset foods from cache {}", cached.size(), cache.getPath());
+            return cached;
+        }
+
+        List<FoodItem> items = readSheets(resource, file, invalid);
+        try {
+            cache.write(size, digest, items);
+        } catch (IOException e) {
+            log.warn("Could not write food catalog cache {}", cache.getPath(), e);
+        }
+        return items;
+    }
+
+    private List<FoodItem> readSheets(Resource resource, Path file, LongAdder invalid)
+            throws IOException, OpenXML4JException, SAXException, ParserConfigurationException {
+        OPCPackage pkg = file != null
+            ? OPCPackage.open(file.toFile(), PackageAccess.READ)
+            : OPCPackage.open(resource.getInputStream());
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            StylesTable styles = reader.getStylesTable();
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+
+            List<ForkJoinTask<List<FoodItem>>> tasks = new ArrayList<>();
+            List<FoodItem> items = new ArrayList<>();
+            int sheetCount = 0;
+            while (sheets.hasNext()) {
+                sheetCount++;
+                try (InputStream sheet = sheets.next()) {
+                    String sheetName = sheets.getSheetName();
+                    if (file == null) {
+                        // A package read from a stream lives in memory only; parse its sheets in turn.
+                        items.addAll(parseSheet(sheet, styles, strings, resource, sheetName, invalid));
+                    } else {
+                        PackagePartName part = sheets.getSheetPart().getPartName();
+                        ForkJoinTask<List<FoodItem>> task =
+                            ForkJoinTask.adapt(() -> parseSheet(file, part, styles, strings, resource, sheetName, invalid));
+                        tasks.add(task.fork());
+                    }
+                }
+            }
+            for (ForkJoinTask<List<FoodItem>> task : tasks) {
+                items.addAll(task.join());
+            }
+
+            if (sheetCount == 0) {
+                log.warn("Catalog workbook '{}' contained no sheets", resource.getDescription());
+            }
+            log.info("Loaded {} preset foods from {} sheet(s) of {}", items.size(), sheetCount, resource.getDescription());
+            return items;
+        } finally {
+            pkg.revert();
+        }
+    }
+
+    private List<FoodItem> parseSheet(Path file, PackagePartName part, StylesTable styles,
+                                      ReadOnlySharedStringsTable strings, Resource resource, String sheetName,
+                                      LongAdder invalid)
+            throws IOException, OpenXML4JException, SAXException, ParserConfigurationException {
+        OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+        try (InputStream sheet = pkg.getPart(part).getInputStream()) {
+            return parseSheet(sheet, styles, strings, resource, sheetName, invalid);
+        } finally {
+            pkg.revert();
+        }
+    }
+
+    private List<FoodItem> parseSheet(InputStream sheet, StylesTable styles, ReadOnlySharedStringsTable strings,
+                                      Resource resource, String sheetName, LongAdder invalid)
+            throws IOException, SAXException, ParserConfigurationException {
+        List<FoodItem> items = new ArrayList<>();
+        CatalogSheetHandler handler = new CatalogSheetHandler(items::add);
+        XMLReader parser = XMLHelper.newXMLReader();
+        parser.setContentHandler(new XSSFSheetXMLHandler(styles, strings, handler,
+            CatalogSheetHandler.rawNumberFormatter(), false));
+        parser.parse(new InputSource(sheet));
+        invalid.add(handler.getRowsSkipped());
+
+        if (!handler.hasHeader()) {
+            log.warn("Sheet '{}' of catalog workbook '{}' does not contain the expected headers; skipped",
+                sheetName, resource.getDescription());
+        }
+        return items;
+    }
+}
@@ -0,0 +1,214 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.MealType;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Column-oriented, read-only catalog used as the snapshot base when {@code catalog.columnar.enabled}
+ * is set, in place of a list of {@link FoodItem} objects.
+ *
+ * Each nutrient is a parallel {@code int[]} indexed by row, the meal type is a {@code byte[]} of
+ * {@link MealType} ordinals, and descriptions are stored once in a dictionary referenced by id, so a
+ * row costs a few primitive slots instead of an object with its own header and pointers. Duplicate
+ * checks binary-search an array of row ids ordered by {@link CatalogSnapshot#key(String) normalized
+ * description}. The class is also a {@link List} view: {@link #get(int)} builds a {@link FoodItem} for
+ * the requested row only, so callers of the list API and query results are the only places rows
+ * become objects.
+ */
+final class ColumnarCatalog extends AbstractList<FoodItem> implements RandomAccess, NutrientIndex.Rows {
+    private static final MealType[] MEAL_TYPES = MealType.values();
+    private static final byte NO_MEAL_TYPE = -1;
+
+    private final int size;
+    // calories, protein, carbs, fat; same order as NutrientFilter#ranges()
+    private final int[][] nutrients;
+    private final byte[] mealTypes;
+    private final int[] descriptionIds;
+    private final String[] dictionary;
+    // first row of each distinct dedup key, ordered by that key
+    private final int[] keyRows;
+
+    /**
+     * @param previousKeyRows key order of the rows before {@code from}
+     * @param from first row not yet in {@code previousKeyRows}
+     */
+    private ColumnarCatalog(int size, int[][] nutrients, byte[] mealTypes, int[] descriptionIds, String[] dictionary,
+                            int[] previousKeyRows, int from) {
+        this.size = size;
+        this.nutrients = nutrients;
+        this.mealTypes = mealTypes;
+        this.descriptionIds = descriptionIds;
+        this.dictionary = dictionary;
+        this.keyRows = mergeKeys(previousKeyRows, from);
+    }
+
+    /**
+     * Copy a catalog into columns.
+     *
+     * @param items catalog items; row ids follow list order
+     * @return the columnar catalog
+     */
+    static ColumnarCatalog of(List<FoodItem> items) {
+        return empty().plus(items);
+    }
+
+    private static ColumnarCatalog empty() {
+        return new ColumnarCatalog(0, new int[4][0], new byte[0], new int[0], new String[0], new int[0], 0);
+    }
+
+    /**
+     * Return a catalog with {@code items} appended after the existing rows, whose row ids are kept.
+     * Columns and the dictionary are copied once; the key order is merged rather than re-sorted.
+     *
+     * @param items items to append
+     * @return the extended catalog
+     */
+    ColumnarCatalog plus(List<FoodItem> items) {
+        int added = items.size();
+        int nextSize = size + added;
+        int[][] nextNutrients = new int[nutrients.length][];
+        for (int n = 0; n < nutrients.length; n++) {
+            nextNutrients[n] = Arrays.copyOf(nutrients[n], nextSize);
+        }
+        byte[] nextMealTypes = Arrays.copyOf(mealTypes, nextSize);
+        int[] nextDescriptionIds = Arrays.copyOf(descriptionIds, nextSize);
+
+        // Only descriptions not yet in the dictionary are added; existing ones are looked up by key
+        // first, so the common case of a new food needs no map over the whole dictionary.
+        Map<String, Integer> newIds = new HashMap<>();
+        List<String> newWords = new ArrayList<>();
+        for (int i = 0; i < added; i++) {
+            FoodItem item = items.get(i);
+            int row = size + i;
+            for (int n = 0; n < nextNutrients.length; n++) {
+                nextNutrients[n][row] = NutrientIndex.nutrient(item, n);
+            }
+            nextMealTypes[row] = item.getMealType() == null ? NO_MEAL_TYPE : (byte) item.getMealType().ordinal();
+            String description = item.getDescription();
+            int existing = find(CatalogSnapshot.key(description));
+            if (existing >= 0 && dictionary[descriptionIds[existing]].equals(description)) {
+                nextDescriptionIds[row] = descriptionIds[existing];
+            } else {
+                nextDescriptionIds[row] = newIds.computeIfAbsent(description, word -> {
+                    newWords.add(word);
+                    return dictionary.length + newWords.size() - 1;
+                });
+            }
+        }
+        String[] nextDictionary = Arrays.copyOf(dictionary, dictionary.length + newWords.size());
+        for (int i = 0; i < newWords.size(); i++) {
+            nextDictionary[dictionary.length + i] = newWords.get(i);
+        }
+
+        return new ColumnarCatalog(nextSize, nextNutrients, nextMealTypes, nextDescriptionIds, nextDictionary, keyRows,
+            size);
+    }
+
+    /**
+     * Merge the rows from {@code from} onwards into the existing key order. Rows whose key is already
+     * present, or repeated among the new rows, are left out so each key maps to its first row.
+     */
+    private int[] mergeKeys(int[] existing, int from) {
+        String[] newKeys = new String[size - from];
+        Integer[] order = new Integer[size - from];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = from + i;
+            newKeys[i] = CatalogSnapshot.key(description(from + i));
+        }
+        // Stable sort, so among equal keys the earliest row comes first.
+        Arrays.sort(order, Comparator.comparing((Integer row) -> newKeys[row - from]));
+
+        int[] merged = new int[existing.length + order.length];
+        int count = 0;
+        int e = 0;
+        String previous = null;
+        for (Integer row : order) {
+            String key = newKeys[row - from];
+            if (key.equals(previous)) {
+                continue;
+            }
+            previous = key;
+            int slot = search(existing, key);
+            int insert = slot >= 0 ? slot : -slot - 1;
+            System.arraycopy(existing, e, merged, count, insert - e);
+            count += insert - e;
+            e = insert;
+            if (slot < 0) {
+                merged[count++] = row;
+            }
+        }
+        System.arraycopy(existing, e, merged, count, existing.length - e);
+        count += existing.length - e;
+        return Arrays.copyOf(merged, count);
+    }
+
+    /**
+     * @param key normalized description, as produced by {@link CatalogSnapshot#key(String)}
+     * @return the first row with that key, or -1
+     */
+    int find(String key) {
+        int slot = search(keyRows, key);
+        return slot >= 0 ? keyRows[slot] : -1;
+    }
+
+    /** Binary search of {@code rows}, ordered by key; returns the slot or {@code -(insertion point) - 1}. */
+    private int search(int[] rows, String key) {
+        int lo = 0;
+        int hi = rows.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = CatalogSnapshot.key(description(rows[mid])).compareTo(key);
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+    /**
+     * @param row row id
+     * @return the row as a new {@link FoodItem}
+     */
+    @Override
+    public FoodItem get(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException(row);
+        }
+        return new FoodItem(description(row), nutrients[0][row], nutrients[1][row], nutrients[2][row],
+            nutrients[3][row], mealType(row));
+    }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public int nutrient(int row, int nutrient) {
+        return nutrients[nutrient][row];
+    }
+
+    @Override
+    public MealType mealType(int row) {
+        return mealTypes[row] == NO_MEAL_TYPE ? null : MEAL_TYPES[mealTypes[row]];
+    }
+
+    /**
+     * @param row row id
+     * @return description of the row, shared with every other row that has the same text
+     */
+    String description(int row) {
+        return dictionary[descriptionIds[row]];
+    }
+}
@@ -0,0 +1,103 @@
+package edu.csu.caloriecounter.service;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Small read-through cache of per-date values (a day's entries or totals) in front of the database.
+ *
+ * Dates are kept in access order and the least recently read one is evicted once more than
+ * {@code maxDates} are held, so today stays cached while past dates viewed once age out. Values are
+ * dropped with {@link #invalidate(LocalDate)} when a write touching the date commits. A load that was
+ * already running when an invalidation happened may have read the old rows, so every invalidation
+ * bumps a generation counter and a load only stores its result if the generation is unchanged.
+ *
+ * @param <V> cached value type; should be immutable
+ */
+public final class DateCache<V> {
+    private final int maxDates;
+    private final Map<LocalDate, V> values;
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param maxDates maximum number of dates held
+     */
+    DateCache(int maxDates) {
+        this.maxDates = Math.max(maxDates, 1);
+        this.values = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LocalDate, V> eldest) {
+                if (size() > DateCache.this.maxDates) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Snapshot of the cache counters.
+     *
+     * @param hits reads answered from the cache
+     * @param misses reads that went to the loader
+     * @param evictions dates dropped to stay within the size bound
+     * @param size dates currently held
+     */
+    public record Stats(long hits, long misses, long evictions, int size) {
+    }
+
+    /**
+     * Return the cached value for a date, loading and caching it on a miss. The loader runs outside
+     * the cache lock, so a slow query does not block reads of other dates.
+     *
+     * @param date date to read
+     * @param loader loads the value from the database
+     * @return the value
+     */
+    V get(LocalDate date, Function<LocalDate, V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            V value = values.get(date);
+            if (value != null) {
+                hits++;
+                return value;
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+        V loaded = loader.apply(date);
+        synchronized (this) {
+            if (generation == loadGeneration && loaded != null) {
+                values.put(date, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drop the value of a date and discard any load of it still in flight.
+     *
+     * @param date date whose data changed
+     */
+    synchronized void invalidate(LocalDate date) {
+        generation++;
+        values.remove(date);
+    }
+
+    /** Drop every value and discard loads still in flight. */
+    synchronized void invalidateAll() {
+        generation++;
+        values.clear();
+    }
+
+    /** @return current counters. */
+    synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, values.size());
+    }
+}
@@ -0,0 +1,44 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.LogEntry;
+import edu.csu.caloriecounter.domain.NutrientTotals;
+
+import java.util.List;
+
+/**
+ * A day's entries together with their totals, built from one query so the dashboard never shows a
+ * list and totals read at different moments.
+ */
+public final class DaySummary {
+    private final List<LogEntry> entries;
+    private final NutrientTotals totals;
+
+    private DaySummary(List<LogEntry> entries, NutrientTotals totals) {
+        this.entries = entries;
+        this.totals = totals;
+    }
+
+    /**
+     * @param entries all entries of one date
+     * @return the entries (copied) and their summed nutrients
+     */
+    static DaySummary of(List<LogEntry> entries) {
+        long calories = 0;
+        long protein = 0;
+        long carbs = 0;
+        long fat = 0;
+        for (LogEntry entry : entries) {
+            calories += entry.getCalories();
+            protein += entry.getProtein();
+            carbs += entry.getCarbs();
+            fat += entry.getFat();
+        }
+        return new DaySummary(List.copyOf(entries), new NutrientTotals(calories, protein, carbs, fat));
+    }
+
+    /** @return unmodifiable list of the day's entries. */
+    public List<LogEntry> getEntries() { return entries; }
+
+    /** @return totals of those entries. */
+    public NutrientTotals getTotals() { return totals; }
+}
@@ -0,0 +1,125 @@
+package edu.csu.caloriecounter.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import edu.csu.caloriecounter.domain.LogEntry;
+import edu.csu.caloriecounter.repo.LogEntryRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams log entries for a date range to an output stream as CSV or NDJSON.
+ *
+ * Rows come from {@link LogEntryRepository#streamByDateBetween} (a forward-only cursor with a JDBC
+ * fetch size) inside a read-only transaction, are written as they arrive, and the persistence context
+ * is cleared every {@value #CLEAR_INTERVAL} rows. Memory use therefore depends on the fetch size, not
+ * on the length of the range.
+ */
+@Service
+public class EntryExporter {
+    private static final int CLEAR_INTERVAL = 1000;
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final LogEntryRepository repo;
+    private final EntityManager entityManager;
+
+    public EntryExporter(LogEntryRepository repo, EntityManager entityManager) {
+        this.repo = repo;
+        this.entityManager = entityManager;
+    }
+
+    /** Supported export formats. */
+    public enum Format {
+        /** Comma-separated values with a header row. */
+        CSV,
+        /** One JSON object per line. */
+        NDJSON
+    }
+
+    /**
+     * Write every entry dated {@code from..to}, oldest first.
+     *
+     * @param from inclusive start date
+     * @param to inclusive end date
+     * @param format output format
+     * @param out destination (UTF-8); flushed but not closed
+     * @return number of entries written
+     * @throws IOException when writing fails
+     */
+    @Transactional(readOnly = true)
+    public long export(LocalDate from, LocalDate to, Format format, OutputStream out) throws IOException {
+        try (Stream<LogEntry> entries = repo.streamByDateBetween(from, to)) {
+            return format == Format.CSV ? writeCsv(entries.iterator(), out) : writeNdjson(entries.iterator(), out);
+        }
+    }
+
+    private long writeCsv(Iterator<LogEntry> entries, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("Id,Date,Description,Calories,Protein,Carbs,Fat,MealType\r\n");
+        long rows = 0;
+        while (entries.hasNext()) {
+            LogEntry entry = entries.next();
+            writer.write(entry.getId() + "," + entry.getDate() + "," + csvField(entry.getDescription()) + ","
+                + entry.getCalories() + "," + entry.getProtein() + "," + entry.getCarbs() + "," + entry.getFat() + ","
+                + (entry.getMealType() == null ? "" : entry.getMealType().name()) + "\r\n");
+            rows = detachPeriodically(rows + 1);
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private long writeNdjson(Iterator<LogEntry> entries, OutputStream out) throws IOException {
+        JsonGenerator json = JSON.createGenerator(out, JsonEncoding.UTF8);
+        json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        json.setRootValueSeparator(null);
+        long rows = 0;
+        while (entries.hasNext()) {
+            LogEntry entry = entries.next();
+            json.writeStartObject();
+            json.writeNumberField("id", entry.getId());
+            json.writeStringField("date", entry.getDate().toString());
+            json.writeStringField("description", entry.getDescription());
+            json.writeNumberField("calories", entry.getCalories());
+            json.writeNumberField("protein", entry.getProtein());
+            json.writeNumberField("carbs", entry.getCarbs());
+            json.writeNumberField("fat", entry.getFat());
+            json.writeStringField("mealType", entry.getMealType() == null ? null : entry.getMealType().name());
+            json.writeEndObject();
+            json.writeRaw('\n');
+            rows = detachPeriodically(rows + 1);
+        }
+        json.flush();
+        return rows;
+    }
+
+    /** Drop the rows written so far from the persistence context so it does not grow with the range. */
+    private long detachPeriodically(long rows) {
+        if (rows % CLEAR_INTERVAL == 0) {
+            entityManager.clear();
+        }
+        return rows;
+    }
+
+    /** Quote a field when it contains a comma, quote or line break (RFC 4180). */
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
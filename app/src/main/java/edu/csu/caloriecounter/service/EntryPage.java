@@ -0,0 +1,62 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.LogEntry;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * One page of log entries, newest first, with opaque cursors for the neighbouring pages.
+ *
+ * Cursors encode the {@code (date, id)} key of the entry at the page edge, so fetching the next or
+ * previous page is an index seek from that key rather than an offset that has to skip every earlier
+ * row.
+ */
+public final class EntryPage {
+    private final List<LogEntry> entries;
+    private final String previousCursor;
+    private final String nextCursor;
+
+    EntryPage(List<LogEntry> entries, boolean hasPrevious, boolean hasNext) {
+        this.entries = List.copyOf(entries);
+        this.previousCursor = hasPrevious && !entries.isEmpty() ? cursor(entries.get(0)) : null;
+        this.nextCursor = hasNext && !entries.isEmpty() ? cursor(entries.get(entries.size() - 1)) : null;
+    }
+
+    /** @return the entries on this page, newest first. */
+    public List<LogEntry> getEntries() { return entries; }
+
+    /** @return cursor for the newer page, or {@code null} on the first page. */
+    public String getPreviousCursor() { return previousCursor; }
+
+    /** @return cursor for the older page, or {@code null} on the last page. */
+    public String getNextCursor() { return nextCursor; }
+
+    private static String cursor(LogEntry entry) {
+        return entry.getDate() + "_" + entry.getId();
+    }
+
+    /**
+     * Decoded page-edge key.
+     *
+     * @param date entry date
+     * @param id entry id
+     */
+    record Cursor(LocalDate date, long id) {
+        /**
+         * @param cursor value produced by {@link EntryPage}
+         * @return the decoded key
+         * @throws IllegalArgumentException when the value is not a cursor
+         */
+        static Cursor parse(String cursor) {
+            int separator = cursor.indexOf('_');
+            try {
+                return new Cursor(LocalDate.parse(cursor.substring(0, separator)),
+                    Long.parseLong(cursor.substring(separator + 1)));
+            } catch (DateTimeParseException | NumberFormatException | IndexOutOfBoundsException ex) {
+                throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+            }
+        }
+    }
+}
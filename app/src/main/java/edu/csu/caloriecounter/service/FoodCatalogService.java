@@ -0,0 +1,628 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.MealType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Loads a catalog of foods from an Excel workbook and exposes them for UI pre-fill options.
+ *
+ * The workbook is searched for in {@value #DOCS_RESOURCE} first (to make the spreadsheet easy to
+ * find and edit). If it is not present there, the service falls back to {@value #CLASSPATH_RESOURCE}
+ * on the classpath. Further workbooks (for example one per vendor) can be listed in the
+ * {@code catalog.workbooks} property. Every sheet of every workbook is read; sheets must contain a
+ * header row with the columns {@code Description}, {@code Calories}, {@code Protein}, {@code Carbs},
+ * {@code Fat}, and {@code MealType}. Each subsequent row is converted into a {@link FoodItem}
+ * instance by {@link CatalogSheetHandler} while the sheet is streamed, so startup memory does not
+ * grow with the size of the workbook.
+ *
+ * New items are written to an append-only journal ({@value #JOURNAL_RESOURCE}) at request time and
+ * folded into the workbook in batches by a background compactor; see {@link #addToCatalog(FoodItem)}.
+ * Readers see an immutable {@link CatalogSnapshot} published through an atomic reference and never
+ * take a lock; only writers are serialized. The writer locks are {@link ReentrantLock}s rather than
+ * monitors, so a virtual thread blocked on journal or workbook I/O while holding one is unmounted
+ * instead of pinning its carrier thread. Hand edits to the workbook are picked up without a
+ * restart by {@link #reloadCatalog()}, which {@link CatalogWatcher} calls when file watching is on.
+ *
+ * Metrics ({@code catalog.*}): load duration by trigger, rows parsed and skipped by reason, append
+ * latency, writer-lock wait and hold times, and the current catalog size.
+ */
+@Service
+public class FoodCatalogService {
+    private static final Logger log = LoggerFactory.getLogger(FoodCatalogService.class);
+    private static final String DOCS_RESOURCE = "docs/food-catalog.xlsx";
+    private static final String CLASSPATH_RESOURCE = "data/food-catalog.xlsx";
+    private static final String JOURNAL_RESOURCE = "docs/food-catalog.journal";
+    private static final String DEFAULT_SHEET_NAME = "Foods";
+    private static final long COMPACTION_DELAY_SECONDS = 5;
+
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>(CatalogSnapshot.empty());
+    private final Path docsPath = resolveDocsPath();
+    private final CatalogJournal journal = new CatalogJournal(resolveJournalPath());
+    private final List<Path> extraWorkbooks;
+    private final boolean columnar;
+    private final ForkJoinPool loaderPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    private final CatalogWorkbookReader workbookReader = new CatalogWorkbookReader(loaderPool);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock compactionLock = new ReentrantLock();
+    private final ScheduledExecutorService compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private boolean compactionScheduled;
+    private volatile List<WorkbookStamp> loadedStamps = List.of();
+
+    private final MeterRegistry meters;
+    private final Counter rowsParsed;
+    private final Counter rowsInvalid;
+    private final Counter rowsDuplicate;
+    private final Timer appendTimer;
+    private final Timer lockWait;
+    private final Timer lockHeld;
+
+    /**
+     * Create a service that reads only the default workbook.
+     */
+    public FoodCatalogService() {
+        this(List.of());
+    }
+
+    /**
+     * Create a service whose metrics are kept in a private registry.
+     *
+     * @param workbooks additional workbooks, as for {@link #FoodCatalogService(List, MeterRegistry)}
+     */
+    public FoodCatalogService(List<String> workbooks) {
+        this(workbooks, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Create a service that keeps the catalog as a list of objects.
+     *
+     * @param workbooks additional workbooks, as for {@link #FoodCatalogService(List, boolean, MeterRegistry)}
+     * @param meters registry the {@code catalog.*} metrics are published to
+     */
+    public FoodCatalogService(List<String> workbooks, MeterRegistry meters) {
+        this(workbooks, false, meters);
+    }
+
+    /**
+     * @param workbooks additional workbooks ({@code catalog.workbooks}), relative to the working
+     *                  directory; merged after the default workbook in the given order
+     * @param columnar whether to hold the loaded catalog in a {@link ColumnarCatalog}
+     *                 ({@code catalog.columnar.enabled})
+     * @param meters registry the {@code catalog.*} metrics are published to
+     */
+    @Autowired
+    public FoodCatalogService(@Value("${catalog.workbooks:}") List<String> workbooks,
+                              @Value("${catalog.columnar.enabled:false}") boolean columnar, MeterRegistry meters) {
+        this.columnar = columnar;
+        Path workingDir = Path.of(System.getProperty("user.dir"));
+        this.extraWorkbooks = workbooks.stream()
+            .filter(workbook -> !workbook.isBlank())
+            .map(workbook -> workingDir.resolve(workbook.trim()).normalize())
+            .toList();
+        this.meters = meters;
+        this.rowsParsed = Counter.builder("catalog.rows.parsed")
+            .description("Workbook rows converted to foods, before de-duplication").register(meters);
+        this.rowsInvalid = Counter.builder("catalog.rows.skipped").tag("reason", "invalid")
+            .description("Workbook rows dropped while loading").register(meters);
+        this.rowsDuplicate = Counter.builder("catalog.rows.skipped").tag("reason", "duplicate")
+            .description("Workbook rows dropped while loading").register(meters);
+        this.appendTimer = Timer.builder("catalog.append")
+            .description("Latency of journaling and publishing quick-add foods").register(meters);
+        this.lockWait = Timer.builder("catalog.lock.wait")
+            .description("Time spent waiting for the catalog writer lock").register(meters);
+        this.lockHeld = Timer.builder("catalog.lock.held")
+            .description("Time the catalog writer lock was held").register(meters);
+        Gauge.builder("catalog.size", snapshot, current -> current.get().getFoods().size())
+            .description("Foods in the published catalog").register(meters);
+    }
+
+    /**
+     * Load the catalog from the Excel workbooks once at application startup.
+     *
+     * Workbooks and their sheets are parsed in parallel by {@link CatalogWorkbookReader}, streaming
+     * each sheet through POI's event model rather than {@code WorkbookFactory}, so rows become
+     * {@link FoodItem}s as they are read and no workbook DOM is ever built. The rows are merged with
+     * the same case-insensitive duplicate rule as {@link #addToCatalog(FoodItem)}; the first workbook
+     * and sheet to mention a description wins. Each workbook's rows are also written to a binary
+     * {@link CatalogCache} keyed by the workbook's size and SHA-256, and later startups read that cache
+     * instead while the workbook is unchanged. Journal entries that were accepted before the last
+     * shutdown but not yet compacted are replayed on top, and the result is published as a new
+     * {@link CatalogSnapshot}.
+     */
+    @PostConstruct
+    public void loadCatalog() {
+        Timer.Sample sample = Timer.start(meters);
+        List<FoodItem> loaded = List.of();
+        List<Resource> workbooks = resolveCatalogResources();
+        loadedStamps = stampWorkbooks();
+        if (workbooks.isEmpty()) {
+            log.warn("No food catalog found in '{}' or classpath resource '{}'", DOCS_RESOURCE, CLASSPATH_RESOURCE);
+        } else {
+            loaded = countRows(workbookReader.read(workbooks)).foods();
+        }
+
+        long locked = lockWriters();
+        try {
+            CatalogSnapshot base = CatalogSnapshot.of(snapshot.get().getVersion() + 1, loaded, columnar);
+            snapshot.set(base.plus(replayJournal(base)));
+        } finally {
+            unlockWriters(locked);
+        }
+        sample.stop(loadTimer("startup"));
+    }
+
+    /**
+     * Re-read the catalog workbooks after one was edited and publish the result as a new snapshot.
+     *
+     * The workbook is parsed without holding the service lock, so quick-adds and reads continue
+     * meanwhile; requests that already hold the old snapshot keep using it. The new contents are
+     * compared with the published snapshot and only the {@link CatalogDiff} is applied to the search
+     * index. Journaled items that have not been compacted yet are kept. Nothing is published when no
+     * workbook changed since the last load, a workbook has disappeared or cannot be parsed (for
+     * example while an editor is still saving it), or the workbooks contain the same foods.
+     *
+     * @return the changes that were published; empty when nothing changed
+     */
+    public CatalogDiff reloadCatalog() {
+        // Holding the compaction lock keeps the workbook and journal from changing under the reload.
+        compactionLock.lock();
+        try {
+            List<WorkbookStamp> stamps = stampWorkbooks();
+            if (stamps.equals(loadedStamps)) {
+                return CatalogDiff.none();
+            }
+            for (int i = 0; i < stamps.size() && i < loadedStamps.size(); i++) {
+                if (stamps.get(i) == null && loadedStamps.get(i) != null) {
+                    log.warn("Food catalog {} is missing; keeping the current catalog", getWorkbookPaths().get(i));
+                    return CatalogDiff.none();
+                }
+            }
+
+            Timer.Sample sample = Timer.start(meters);
+            CatalogWorkbookReader.Result result = countRows(workbookReader.read(resolveCatalogResources()));
+            sample.stop(loadTimer("reload"));
+            if (result.failures() > 0) {
+                log.warn("Could not reload the food catalog; keeping the current catalog");
+                return CatalogDiff.none();
+            }
+            List<FoodItem> loaded = new ArrayList<>(result.foods());
+
+            long locked = lockWriters();
+            try {
+                loaded = withPending(loaded, journal.readPending());
+                loadedStamps = stamps;
+
+                CatalogSnapshot current = snapshot.get();
+                CatalogDiff diff = CatalogDiff.between(current, loaded);
+                if (!diff.isEmpty()) {
+                    snapshot.set(current.reload(loaded, diff));
+                    log.info("Reloaded food catalog ({})", diff);
+                }
+                return diff;
+            } catch (IOException e) {
+                log.error("Failed to read food catalog journal {}; keeping the current catalog", journal.getPath(), e);
+                return CatalogDiff.none();
+            } finally {
+                unlockWriters(locked);
+            }
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    /**
+     * @return locations of the catalog workbooks on disk, the editable default workbook first, whether
+     *         or not they exist yet
+     */
+    public List<Path> getWorkbookPaths() {
+        List<Path> paths = new ArrayList<>(extraWorkbooks.size() + 1);
+        paths.add(docsPath);
+        paths.addAll(extraWorkbooks);
+        return paths;
+    }
+
+    private List<WorkbookStamp> stampWorkbooks() {
+        List<WorkbookStamp> stamps = new ArrayList<>();
+        for (Path path : getWorkbookPaths()) {
+            stamps.add(WorkbookStamp.of(path));
+        }
+        return stamps;
+    }
+
+    private static List<FoodItem> withPending(List<FoodItem> loaded, List<FoodItem> pending) {
+        Set<String> keys = new HashSet<>(Math.max(16, loaded.size() * 4 / 3 + 1));
+        for (FoodItem item : loaded) {
+            keys.add(CatalogSnapshot.key(item.getDescription()));
+        }
+        for (FoodItem item : pending) {
+            if (keys.add(CatalogSnapshot.key(item.getDescription()))) {
+                loaded.add(item);
+            }
+        }
+        return loaded;
+    }
+
+    private List<FoodItem> replayJournal(CatalogSnapshot base) {
+        try {
+            List<FoodItem> pending = base.filterNew(journal.readPending());
+            journal.rewrite(pending);
+            if (!pending.isEmpty()) {
+                log.info("Replayed {} uncompacted foods from {}", pending.size(), journal.getPath());
+                scheduleCompaction();
+            }
+            return pending;
+        } catch (IOException e) {
+            log.error("Failed to replay food catalog journal {}", journal.getPath(), e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Lock-free read of the current catalog. The returned list is an immutable snapshot; later
+     * appends publish a new list instead of modifying this one.
+     *
+     * @return unmodifiable list of loaded foods.
+     */
+    public List<FoodItem> getCatalog() {
+        return snapshot.get().getFoods();
+    }
+
+    /**
+     * @return current catalog version; bumped whenever the catalog is loaded or appended to.
+     */
+    public long getVersion() {
+        return snapshot.get().getVersion();
+    }
+
+    /**
+     * Pre-serialized snapshot of the current catalog version. The payload is built at most once per
+     * version and shared by every request until the catalog changes again.
+     *
+     * @return payload for the current version
+     */
+    public CatalogPayload getPayload() {
+        return snapshot.get().getPayload();
+    }
+
+    /**
+     * Typeahead search over catalog descriptions.
+     *
+     * @param query text typed by the user; blank returns the first foods alphabetically
+     * @param mealType restrict results to this meal type, or {@code null} for the whole catalog
+     * @param limit maximum number of results
+     * @return matching foods, best match first
+     * @see FoodSearchIndex
+     */
+    public List<FoodItem> search(String query, MealType mealType, int limit) {
+        return snapshot.get().getSearchIndex().search(query, mealType, limit);
+    }
+
+    /**
+     * Nutrient range query, e.g. "under 300 kcal with at least 25 g protein".
+     *
+     * @param filter ranges and meal type to match
+     * @param limit maximum number of results
+     * @return matching foods in catalog order
+     * @see NutrientIndex
+     */
+    public List<FoodItem> filter(NutrientFilter filter, int limit) {
+        return snapshot.get().filter(filter, limit);
+    }
+
+    /**
+     * Append a new food to the in-memory catalog and record it in the catalog journal.
+     *
+     * The append is skipped when the description already exists (case-insensitive) to avoid
+     * duplicating rows in the spreadsheet. Writers are serialized on the service lock; the new
+     * snapshot is published only after its journal line has been written, and readers keep using the
+     * previous snapshot until then. A background compactor folds batches of journal entries into the
+     * Excel workbook a few seconds later, so a quick-add never pays for a workbook rewrite.
+     *
+     * @param item the food to append
+     */
+    public void addToCatalog(FoodItem item) {
+        Timer.Sample sample = Timer.start(meters);
+        long locked = lockWriters();
+        try {
+            CatalogSnapshot current = snapshot.get();
+            if (current.contains(item.getDescription())) {
+                return;
+            }
+
+            journal.append(List.of(item));
+            snapshot.set(current.plus(List.of(item)));
+            scheduleCompaction();
+            log.debug("Journaled '{}' for food catalog {}", item.getDescription(), docsPath);
+        } catch (IOException e) {
+            log.error("Failed to journal food '{}' for catalog {}", item.getDescription(), journal.getPath(), e);
+        } finally {
+            unlockWriters(locked);
+            sample.stop(appendTimer);
+        }
+    }
+
+    /**
+     * Append a batch of foods with one journal write and one snapshot publish. Items whose description
+     * already exists in the catalog, or earlier in the batch, are skipped (case-insensitive).
+     *
+     * @param items foods to append
+     * @return number of foods actually added
+     * @throws IOException when the batch cannot be journaled; nothing is published in that case
+     * @see CatalogImporter
+     */
+    public int addAllToCatalog(List<FoodItem> items) throws IOException {
+        Timer.Sample sample = Timer.start(meters);
+        long locked = lockWriters();
+        try {
+            CatalogSnapshot current = snapshot.get();
+            List<FoodItem> fresh = current.filterNew(items);
+            if (fresh.isEmpty()) {
+                return 0;
+            }
+
+            journal.append(fresh);
+            snapshot.set(current.plus(fresh));
+            scheduleCompaction();
+            log.debug("Journaled {} foods for food catalog {}", fresh.size(), docsPath);
+            return fresh.size();
+        } finally {
+            unlockWriters(locked);
+            sample.stop(appendTimer);
+        }
+    }
+
+    /**
+     * Write every journaled item to the Excel workbook in a single rewrite and clear the journal.
+     *
+     * Runs on the background compactor shortly after an append and again at shutdown; callers may
+     * also invoke it directly to force pending items onto disk. The service lock is only held while
+     * the journal is moved aside, so quick-adds continue while the workbook is being rewritten.
+     */
+    public void compactJournal() {
+        compactionLock.lock();
+        try {
+            try {
+                while (true) {
+                    List<FoodItem> batch;
+                    long locked = lockWriters();
+                    try {
+                        compactionScheduled = false;
+                        Path snapshot = journal.beginCompaction();
+                        if (snapshot == null) {
+                            return;
+                        }
+                        batch = journal.read(snapshot);
+                    } finally {
+                        unlockWriters(locked);
+                    }
+
+                    // Stamped before the rewrite: if the workbook was already edited since the last load, that
+                    // edit has not been reloaded yet and the stamps must stay stale so the watcher picks it up.
+                    boolean current = stampWorkbooks().equals(loadedStamps);
+                    appendToWorkbook(batch);
+                    journal.finishCompaction();
+                    if (current) {
+                        // The rewrite holds nothing the snapshot lacks; re-stamp it so the watcher does not
+                        // reload it. Other workbooks keep their stamps, so edits to them are still noticed.
+                        List<WorkbookStamp> stamps = new ArrayList<>(loadedStamps);
+                        stamps.set(0, WorkbookStamp.of(docsPath));
+                        locked = lockWriters();
+                        try {
+                            loadedStamps = stamps;
+                        } finally {
+                            unlockWriters(locked);
+                        }
+                    }
+                    log.info("Compacted {} journaled foods into food catalog {}", batch.size(), docsPath.toAbsolutePath());
+                }
+            } catch (IOException e) {
+                log.error("Failed to compact food catalog journal into {}; will retry", docsPath.toAbsolutePath(), e);
+                long locked = lockWriters();
+                try {
+                    scheduleCompaction();
+                } finally {
+                    unlockWriters(locked);
+                }
+            }
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    /**
+     * Flush outstanding journal entries to the workbook and stop the background compactor.
+     */
+    @PreDestroy
+    public void shutdown() {
+        compactor.shutdown();
+        loaderPool.shutdown();
+        compactJournal();
+    }
+
+    /** @return {@link System#nanoTime()} at which the writer lock was acquired. */
+    private long lockWriters() {
+        long start = System.nanoTime();
+        lock.lock();
+        long acquired = System.nanoTime();
+        lockWait.record(acquired - start, TimeUnit.NANOSECONDS);
+        return acquired;
+    }
+
+    private void unlockWriters(long acquired) {
+        lockHeld.record(System.nanoTime() - acquired, TimeUnit.NANOSECONDS);
+        lock.unlock();
+    }
+
+    private Timer loadTimer(String trigger) {
+        return Timer.builder("catalog.load").tag("trigger", trigger)
+            .description("Duration of reading the catalog workbooks").register(meters);
+    }
+
+    private CatalogWorkbookReader.Result countRows(CatalogWorkbookReader.Result result) {
+        rowsParsed.increment(result.rowsParsed());
+        rowsInvalid.increment(result.rowsInvalid());
+        rowsDuplicate.increment(result.rowsDuplicate());
+        return result;
+    }
+
+    private void scheduleCompaction() {
+        if (compactionScheduled || compactor.isShutdown()) {
+            return;
+        }
+        compactionScheduled = true;
+        compactor.schedule(this::compactJournal, COMPACTION_DELAY_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void appendToWorkbook(List<FoodItem> items) throws IOException {
+        try (Workbook workbook = openWorkbook(docsPath)) {
+            Sheet sheet = workbook.getNumberOfSheets() > 0 ? workbook.getSheetAt(0) : workbook.createSheet(DEFAULT_SHEET_NAME);
+            ensureHeader(sheet);
+
+            int rowIndex = sheet.getLastRowNum() + 1;
+            for (FoodItem item : items) {
+                Row row = sheet.createRow(rowIndex++);
+                row.createCell(0).setCellValue(item.getDescription());
+                row.createCell(1).setCellValue(item.getCalories());
+                row.createCell(2).setCellValue(item.getProtein());
+                row.createCell(3).setCellValue(item.getCarbs());
+                row.createCell(4).setCellValue(item.getFat());
+                row.createCell(5).setCellValue(item.getMealType().name());
+            }
+
+            // Write beside the workbook and swap it in so a failed write never truncates the catalog.
+            Path tmp = docsPath.resolveSibling(docsPath.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                workbook.write(out);
+            }
+            try {
+                Files.move(tmp, docsPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(tmp, docsPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private Workbook openWorkbook(Path docsPath) throws IOException {
+        if (Files.exists(docsPath)) {
+            try (InputStream in = Files.newInputStream(docsPath)) {
+                return WorkbookFactory.create(in);
+            }
+        }
+
+        if (docsPath.getParent() != null) {
+            Files.createDirectories(docsPath.getParent());
+        }
+
+        Workbook workbook = new XSSFWorkbook();
+        workbook.createSheet(DEFAULT_SHEET_NAME);
+        return workbook;
+    }
+
+    private void ensureHeader(Sheet sheet) {
+        Row header = sheet.getRow(0);
+        if (header != null && header.getPhysicalNumberOfCells() > 0) {
+            return;
+        }
+
+        if (header == null) {
+            header = sheet.createRow(0);
+        }
+
+        header.createCell(0).setCellValue("Description");
+        header.createCell(1).setCellValue("Calories");
+        header.createCell(2).setCellValue("Protein");
+        header.createCell(3).setCellValue("Carbs");
+        header.createCell(4).setCellValue("Fat");
+        header.createCell(5).setCellValue("MealType");
+    }
+
+    private List<Resource> resolveCatalogResources() {
+        List<Resource> resources = new ArrayList<>();
+        Resource primary = resolveCatalogResource();
+        if (primary != null) {
+            resources.add(primary);
+        }
+        for (Path workbook : extraWorkbooks) {
+            if (Files.isRegularFile(workbook)) {
+                resources.add(new FileSystemResource(workbook));
+            } else {
+                log.warn("Catalog workbook '{}' not found; skipped", workbook);
+            }
+        }
+        return resources;
+    }
+
+    private Resource resolveCatalogResource() {
+        Resource docsResource = new FileSystemResource(docsPath);
+        if (docsResource.exists()) {
+            return docsResource;
+        }
+
+        Resource classpathResource = new ClassPathResource(CLASSPATH_RESOURCE);
+        if (classpathResource.exists()) {
+            return classpathResource;
+        }
+
+        return null;
+    }
+
+    /** Size and modification time of the workbook, used to skip reloads of an unchanged file. */
+    private record WorkbookStamp(long size, FileTime modified) {
+        static WorkbookStamp of(Path path) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                return new WorkbookStamp(attributes.size(), attributes.lastModifiedTime());
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+
+    private Path resolveDocsPath() {
+        return Path.of(System.getProperty("user.dir"), DOCS_RESOURCE).normalize();
+    }
+
+    private Path resolveJournalPath() {
+        return Path.of(System.getProperty("user.dir"), JOURNAL_RESOURCE).normalize();
+    }
+}
@@ -0,0 +1,475 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.MealType;
+
+import java.util.*;
+
+/**
+ * Immutable in-memory index over catalog descriptions that backs the typeahead search API.
+ *
+ * Descriptions are normalized (lower-case, punctuation folded to spaces) and indexed three ways in
+ * one partition per {@link MealType}; an unfiltered query merges the hits of every partition:
+ * <ul>
+ *   <li>a sorted key array, so "description starts with the query" is a binary search;</li>
+ *   <li>a prefix trie over description tokens whose nodes carry sorted posting lists, so every query
+ *       token can be matched as a word prefix by intersecting postings;</li>
+ *   <li>trigram postings, used as a fallback for matches inside a word.</li>
+ * </ul>
+ * Results are ranked in that order and alphabetically within each tier. Partitions refer to the indexed
+ * list by row id rather than holding its items, so over a {@link ColumnarCatalog} only the foods a
+ * search returns are materialized.
+ *
+ * Items appended after the index was built are kept in a small side list that is scanned linearly,
+ * and items removed by a reload are hidden through an exclusion set; {@link #plus(List)} and
+ * {@link #apply(CatalogDiff, List)} rebuild the partitions once those grow past
+ * {@value #REBUILD_THRESHOLD} items in total.
+ */
+final class FoodSearchIndex {
+    static final int REBUILD_THRESHOLD = 4096;
+    private static final int GRAM = 3;
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final List<FoodItem> indexed;
+    private final Map<MealType, Partition> byMealType;
+    private final List<FoodItem> appended;
+    private final Set<FoodItem> excluded;
+
+    private FoodSearchIndex(List<FoodItem> indexed, Map<MealType, Partition> byMealType, List<FoodItem> appended,
+                            Set<FoodItem> excluded) {
+        this.indexed = indexed;
+        this.byMealType = byMealType;
+        this.appended = appended;
+        this.excluded = excluded;
+    }
+
+    /**
+     * Build an index over the given items.
+     *
+     * @param items catalog items to index, random access; the list is kept, not copied, and must not
+     *              change afterwards
+     * @return a new index
+     */
+    static FoodSearchIndex build(List<FoodItem> items) {
+        Map<MealType, IntList> grouped = new EnumMap<>(MealType.class);
+        for (int row = 0; row < items.size(); row++) {
+            grouped.computeIfAbsent(items.get(row).getMealType(), key -> new IntList()).add(row);
+        }
+        // Partitions are independent, so they are built concurrently.
+        Map<MealType, Partition> partitions = new EnumMap<>(MealType.class);
+        grouped.entrySet().parallelStream()
+            .map(entry -> Map.entry(entry.getKey(), new Partition(items, entry.getValue().toArray())))
+            .toList()
+            .forEach(entry -> partitions.put(entry.getKey(), entry.getValue()));
+        return new FoodSearchIndex(items, partitions, List.of(), Set.of());
+    }
+
+    /**
+     * Return an index that also contains {@code items}. The existing partitions are shared; only the
+     * side list of appended items is copied.
+     *
+     * @param items newly added catalog items
+     * @return a new index including the items
+     */
+    FoodSearchIndex plus(List<FoodItem> items) {
+        if (items.isEmpty()) {
+            return this;
+        }
+        if (appended.size() + excluded.size() + items.size() > REBUILD_THRESHOLD) {
+            List<FoodItem> all = new ArrayList<>(indexed.size() + appended.size() + items.size());
+            for (FoodItem item : indexed) {
+                if (!excluded.contains(item)) {
+                    all.add(item);
+                }
+            }
+            all.addAll(appended);
+            all.addAll(items);
+            return build(all);
+        }
+        List<FoodItem> next = new ArrayList<>(appended.size() + items.size());
+        next.addAll(appended);
+        next.addAll(items);
+        return new FoodSearchIndex(indexed, byMealType, List.copyOf(next), excluded);
+    }
+
+    /**
+     * Return an index reflecting a reload diff without rebuilding the partitions: removed and
+     * replaced items are hidden, new and replacement items join the side list.
+     *
+     * @param diff changes between the indexed catalog and {@code current}
+     * @param current the full catalog after the change, used if a rebuild is due
+     * @return an index over {@code current}
+     */
+    FoodSearchIndex apply(CatalogDiff diff, List<FoodItem> current) {
+        if (diff.isEmpty()) {
+            return this;
+        }
+        List<FoodItem> gone = new ArrayList<>(diff.getRemoved());
+        List<FoodItem> fresh = new ArrayList<>(diff.getAdded());
+        for (CatalogDiff.Change change : diff.getChanged()) {
+            gone.add(change.previous());
+            fresh.add(change.current());
+        }
+        if (appended.size() + excluded.size() + gone.size() + fresh.size() > REBUILD_THRESHOLD) {
+            return build(current);
+        }
+
+        Set<FoodItem> goneSet = identitySet(gone);
+        List<FoodItem> nextAppended = new ArrayList<>(appended.size() + fresh.size());
+        for (FoodItem item : appended) {
+            if (!goneSet.remove(item)) {
+                nextAppended.add(item);
+            }
+        }
+        nextAppended.addAll(fresh);
+        Set<FoodItem> nextExcluded = identitySet(excluded);
+        nextExcluded.addAll(goneSet);
+        return new FoodSearchIndex(indexed, byMealType, List.copyOf(nextAppended),
+            Collections.unmodifiableSet(nextExcluded));
+    }
+
+    private static Set<FoodItem> identitySet(Collection<FoodItem> items) {
+        Set<FoodItem> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        set.addAll(items);
+        return set;
+    }
+
+    /**
+     * Find catalog items matching a typeahead query.
+     *
+     * @param query free text typed by the user; blank returns the first items alphabetically
+     * @param mealType optional partition to search; {@code null} searches the whole catalog
+     * @param limit maximum number of results
+     * @return up to {@code limit} matches, best first
+     */
+    List<FoodItem> search(String query, MealType mealType, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        String q = normalize(query);
+        List<String> tokens = tokens(q);
+
+        List<List<Hit>> tiers = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        for (Map.Entry<MealType, Partition> partition : byMealType.entrySet()) {
+            if (mealType == null || partition.getKey() == mealType) {
+                partition.getValue().collect(q, tokens, limit, excluded, tiers);
+            }
+        }
+        for (FoodItem item : appended) {
+            if (mealType != null && item.getMealType() != mealType) {
+                continue;
+            }
+            String key = normalize(item.getDescription());
+            int tier = tierOf(key, q, tokens);
+            if (tier >= 0) {
+                tiers.get(tier).add(new Hit(key, -1, item));
+            }
+        }
+
+        // Indexed hits are told apart by row, since a columnar list returns a new object on every get.
+        Set<Integer> seenRows = new HashSet<>();
+        Set<FoodItem> seenItems = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<FoodItem> results = new ArrayList<>(limit);
+        for (List<Hit> tier : tiers) {
+            tier.sort(Comparator.comparing(Hit::key));
+            for (Hit hit : tier) {
+                if (results.size() == limit) {
+                    return results;
+                }
+                if (hit.row() >= 0 ? seenRows.add(hit.row()) : seenItems.add(hit.item())) {
+                    results.add(hit.row() >= 0 ? indexed.get(hit.row()) : hit.item());
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * A match with its normalized key, used to merge hits across partitions: either a row of the
+     * indexed list, or ({@code row} -1) an appended item.
+     */
+    private record Hit(String key, int row, FoodItem item) {
+    }
+
+    /**
+     * Classify a normalized description against a query: 0 = whole-description prefix, 1 = every
+     * token is a word prefix, 2 = substring match, -1 = no match.
+     */
+    private static int tierOf(String key, String q, List<String> tokens) {
+        if (key.startsWith(q)) {
+            return 0;
+        }
+        List<String> keyTokens = tokens(key);
+        boolean allTokens = true;
+        for (String token : tokens) {
+            if (keyTokens.stream().noneMatch(candidate -> candidate.startsWith(token))) {
+                allTokens = false;
+                break;
+            }
+        }
+        if (allTokens) {
+            return 1;
+        }
+        return q.length() >= GRAM && key.contains(q) ? 2 : -1;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(text.length());
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                out.append(c);
+                space = false;
+            } else if (!space) {
+                out.append(' ');
+                space = true;
+            }
+        }
+        int length = out.length();
+        if (length > 0 && out.charAt(length - 1) == ' ') {
+            out.setLength(length - 1);
+        }
+        return out.toString();
+    }
+
+    private static List<String> tokens(String normalized) {
+        return normalized.isEmpty() ? List.of() : Arrays.asList(normalized.split(" "));
+    }
+
+    /**
+     * Row ids of one meal type sorted by key, plus the trie and trigram postings over them; ids are
+     * positions in the sorted arrays.
+     */
+    private static final class Partition {
+        private final List<FoodItem> source;
+        private final int[] rows;
+        private final String[] keys;
+        private final TrieNode tokenTrie = new TrieNode();
+        private final Map<String, int[]> grams;
+
+        Partition(List<FoodItem> source, int[] sourceRows) {
+            this.source = source;
+            int n = sourceRows.length;
+            Integer[] order = new Integer[n];
+            String[] normalized = new String[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+                normalized[i] = normalize(source.get(sourceRows[i]).getDescription());
+            }
+            Arrays.sort(order, Comparator.comparing((Integer i) -> normalized[i]));
+
+            rows = new int[n];
+            keys = new String[n];
+            Map<String, IntList> gramBuilder = new HashMap<>();
+            for (int id = 0; id < n; id++) {
+                rows[id] = sourceRows[order[id]];
+                keys[id] = normalized[order[id]];
+                for (String token : new LinkedHashSet<>(tokens(keys[id]))) {
+                    tokenTrie.insert(token, id);
+                }
+                for (int i = 0; i + GRAM <= keys[id].length(); i++) {
+                    gramBuilder.computeIfAbsent(keys[id].substring(i, i + GRAM), key -> new IntList()).addUnique(id);
+                }
+            }
+            tokenTrie.freeze();
+            grams = new HashMap<>(gramBuilder.size() * 2);
+            gramBuilder.forEach((gram, ids) -> grams.put(gram, ids.toArray()));
+        }
+
+        void collect(String q, List<String> tokens, int limit, Set<FoodItem> excluded, List<List<Hit>> tiers) {
+            if (q.isEmpty()) {
+                int found = 0;
+                for (int id = 0; id < rows.length && found < limit; id++) {
+                    if (!isExcluded(id, excluded)) {
+                        tiers.get(0).add(hit(id));
+                        found++;
+                    }
+                }
+                return;
+            }
+
+            // Tier 0: the whole description starts with the query.
+            int found = 0;
+            for (int id = lowerBound(q); id < keys.length && keys[id].startsWith(q) && found < limit; id++) {
+                if (!isExcluded(id, excluded)) {
+                    tiers.get(0).add(hit(id));
+                    found++;
+                }
+            }
+
+            // Tier 1: every query token is a prefix of some description token.
+            List<int[]> tokenPostings = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                tokenPostings.add(tokenTrie.find(token));
+            }
+            List<Hit> wordTier = tiers.get(1);
+            int[] wordHits = {0};
+            forEachCommon(tokenPostings, id -> {
+                if (isExcluded(id, excluded)) {
+                    return true;
+                }
+                wordTier.add(hit(id));
+                return ++wordHits[0] < limit;
+            });
+
+            // Tier 2: the query appears anywhere, found via trigram postings and verified.
+            if (q.length() >= GRAM && wordHits[0] < limit) {
+                List<int[]> gramPostings = new ArrayList<>(q.length() - GRAM + 1);
+                for (int i = 0; i + GRAM <= q.length(); i++) {
+                    gramPostings.add(grams.getOrDefault(q.substring(i, i + GRAM), NO_POSTINGS));
+                }
+                List<Hit> substringTier = tiers.get(2);
+                int[] substringHits = {0};
+                forEachCommon(gramPostings, id -> {
+                    if (keys[id].contains(q) && !isExcluded(id, excluded)) {
+                        substringTier.add(hit(id));
+                        substringHits[0]++;
+                    }
+                    return substringHits[0] < limit;
+                });
+            }
+        }
+
+        private Hit hit(int id) {
+            return new Hit(keys[id], rows[id], null);
+        }
+
+        private boolean isExcluded(int id, Set<FoodItem> excluded) {
+            return !excluded.isEmpty() && excluded.contains(source.get(rows[id]));
+        }
+
+        private int lowerBound(String q) {
+            int lo = 0;
+            int hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid].compareTo(q) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    /** Trie node keyed by character; {@code postings} lists every id with a token through this node. */
+    private static final class TrieNode {
+        private char[] labels = new char[0];
+        private TrieNode[] children = new TrieNode[0];
+        private IntList building = new IntList();
+        private int[] postings = NO_POSTINGS;
+
+        void insert(String token, int id) {
+            TrieNode node = this;
+            for (int i = 0; i < token.length(); i++) {
+                node = node.child(token.charAt(i));
+                node.building.addUnique(id);
+            }
+        }
+
+        int[] find(String prefix) {
+            TrieNode node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                int slot = Arrays.binarySearch(node.labels, prefix.charAt(i));
+                node = slot >= 0 ? node.children[slot] : null;
+            }
+            return node == null ? NO_POSTINGS : node.postings;
+        }
+
+        void freeze() {
+            postings = building.toArray();
+            building = null;
+            for (TrieNode child : children) {
+                child.freeze();
+            }
+        }
+
+        private TrieNode child(char label) {
+            int slot = Arrays.binarySearch(labels, label);
+            if (slot >= 0) {
+                return children[slot];
+            }
+            int insert = -slot - 1;
+            char[] nextLabels = new char[labels.length + 1];
+            TrieNode[] nextChildren = new TrieNode[children.length + 1];
+            System.arraycopy(labels, 0, nextLabels, 0, insert);
+            System.arraycopy(children, 0, nextChildren, 0, insert);
+            nextLabels[insert] = label;
+            nextChildren[insert] = new TrieNode();
+            System.arraycopy(labels, insert, nextLabels, insert + 1, labels.length - insert);
+            System.arraycopy(children, insert, nextChildren, insert + 1, children.length - insert);
+            labels = nextLabels;
+            children = nextChildren;
+            return nextChildren[insert];
+        }
+    }
+
+    /**
+     * Visit ids present in every posting list, in ascending order, until the visitor returns false.
+     * The shortest list drives the walk and membership in the others is checked by binary search, so
+     * the cost is bounded by the rarest term and by how many results the caller still needs.
+     */
+    private static void forEachCommon(List<int[]> postings, IdVisitor visitor) {
+        if (postings.isEmpty()) {
+            return;
+        }
+        List<int[]> ordered = new ArrayList<>(postings);
+        ordered.sort(Comparator.comparingInt(list -> list.length));
+        int[] driver = ordered.get(0);
+        int[] cursors = new int[ordered.size()];
+        for (int id : driver) {
+            boolean inAll = true;
+            for (int i = 1; i < ordered.size() && inAll; i++) {
+                int[] other = ordered.get(i);
+                int slot = Arrays.binarySearch(other, cursors[i], other.length, id);
+                if (slot >= 0) {
+                    cursors[i] = slot;
+                } else {
+                    cursors[i] = -slot - 1;
+                    inAll = false;
+                }
+            }
+            if (inAll && !visitor.visit(id)) {
+                return;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface IdVisitor {
+        /** @return whether to keep visiting */
+        boolean visit(int id);
+    }
+
+    /** Growable int array; ids arrive in ascending order, so de-duplication only checks the tail. */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addUnique(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
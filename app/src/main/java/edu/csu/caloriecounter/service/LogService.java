@@ -0,0 +1,474 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.DateTotals;
+import edu.csu.caloriecounter.domain.LogEntry;
+import edu.csu.caloriecounter.domain.MealType;
+import edu.csu.caloriecounter.domain.MealTypeTotals;
+import edu.csu.caloriecounter.domain.NutrientTotals;
+import edu.csu.caloriecounter.repo.DailyTotalsRepository;
+import edu.csu.caloriecounter.repo.LogEntryRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Service layer responsible for retrieving and aggregating LogEntry data.
+ *
+ * This class centralizes calculation logic (totals, ranges) so controllers remain thin and focus
+ * on request/response handling. This centralization also serves as an extension point for applying
+ * alternate calculation strategies in the future.
+ *
+ * Every write goes through this class so the {@link edu.csu.caloriecounter.domain.DailyTotals}
+ * materialization and the {@link RollupEngine} buckets are adjusted in the same transaction as the
+ * entry itself; totals are then read from
+ * those rows, which costs the same however many entries a day has.
+ *
+ * A date's entries and totals are additionally held in {@link DateCache}s, so repeated dashboard views
+ * skip the database, and concurrent misses for the same date share one query through
+ * {@link SingleFlight}, so a burst of viewers costs one query rather than one each. A write
+ * invalidates the dates it touches once its transaction commits. "Today"
+ * comes from the injected {@link Clock}, so after midnight the dashboard reads a new cache key and the
+ * previous day simply ages out of the cache.
+ *
+ * Every repository read is timed as {@code log.query} and its row count recorded as
+ * {@code log.query.rows}, both tagged with the calling method; cache hits record nothing.
+ *
+ * Patterns Used So Far:
+ * - MVC (Spring): Controllers ↔ Service ↔ Views (Thymeleaf)
+ * - Repository (DAO): JPA repository for LogEntry
+ * - Singleton (via Spring): this service is a container-scoped singleton
+ * - Strategy (extension point): calculations centralized here for future strategy injection
+ */
+@Service
+public class LogService {
+    /** Largest history page served. */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /** Longest history window, in days, served. */
+    public static final int MAX_HISTORY_DAYS = 366;
+
+    // A multiple of hibernate.jdbc.batch_size, so every flush sends full batches.
+    private static final int BULK_FLUSH_SIZE = 20 * LogEntry.ID_ALLOCATION_SIZE;
+
+    private final LogEntryRepository repo;
+    private final DailyTotalsRepository totalsRepo;
+    private final RollupEngine rollups;
+    private final EntityManager entityManager;
+    private final Clock clock;
+    private final MeterRegistry meters;
+    private final DateCache<DaySummary> dayCache;
+    private final DateCache<NutrientTotals> totalsCache;
+    private final SingleFlight<LocalDate, DaySummary> dayLoads = new SingleFlight<>();
+    private final SingleFlight<LocalDate, NutrientTotals> totalsLoads = new SingleFlight<>();
+
+    /**
+     * Constructor injection of the repositories.
+     *
+     * @param repo repository used for persistence operations
+     * @param totalsRepo repository of the per-day totals kept in step with the entries
+     * @param rollups week and month buckets kept in step with the entries
+     * @param entityManager entity manager, cleared between bulk insert chunks
+     * @param clock clock defining the current date
+     * @param meters registry the query metrics are published to
+     * @param maxCachedDates number of dates whose entries and totals are kept in memory
+     */
+    public LogService(LogEntryRepository repo, DailyTotalsRepository totalsRepo, RollupEngine rollups,
+                      EntityManager entityManager, Clock clock, MeterRegistry meters,
+                      @Value("${log.cache.max-dates:31}") int maxCachedDates) {
+        this.repo = repo;
+        this.totalsRepo = totalsRepo;
+        this.rollups = rollups;
+        this.entityManager = entityManager;
+        this.clock = clock;
+        this.meters = meters;
+        this.dayCache = new DateCache<>(maxCachedDates);
+        this.totalsCache = new DateCache<>(maxCachedDates);
+    }
+
+    /** @return the current date according to the service clock. */
+    public LocalDate today() { return LocalDate.now(clock); }
+
+    /** @return whether any entry has been logged, e.g. in a file database kept from an earlier run. */
+    public boolean hasEntries() { return repo.findFirstByOrderByIdAsc().isPresent(); }
+
+    /**
+     * Retrieve today's entries and their totals, read together in one query.
+     *
+     * @return summary of the current date
+     */
+    public DaySummary todaySummary() { return summary(LocalDate.now(clock), "todaySummary"); }
+
+    /**
+     * Retrieve one date's entries and their totals, read together in one query.
+     *
+     * @param date the date to read
+     * @return summary of that date
+     */
+    public DaySummary daySummary(LocalDate date) { return summary(date, "daySummary"); }
+
+    /** Cached day read; a miss is timed under the calling method's name. */
+    private DaySummary summary(LocalDate date, String method) {
+        return dayCache.get(date, d -> dayLoads.execute(d, () -> DaySummary.of(
+            timed(method, () -> repo.findByDate(d), List::size))));
+    }
+
+    /**
+     * Retrieve the list of entries for today.
+     *
+     * @return unmodifiable list of {@link LogEntry} for the current date
+     */
+    public List<LogEntry> todayEntries() { return todaySummary().getEntries(); }
+
+    /**
+     * Compute totals (calories, protein, carbs, fat) for today.
+     *
+     * @return today's nutrient totals
+     */
+    public NutrientTotals todayTotals() { return todaySummary().getTotals(); }
+
+    /**
+     * Compute totals for a specific date from the materialized daily totals.
+     *
+     * @param date the date to aggregate totals for
+     * @return nutrient totals for the date; all zero when nothing was logged
+     */
+    public NutrientTotals totalsForDate(LocalDate date) {
+        return totalsCache.get(date, d -> totalsLoads.execute(d, () -> {
+            NutrientTotals totals = timed("totalsForDate", () -> totalsRepo.sumByDate(d), t -> t == null ? 0 : 1);
+            return totals == null ? NutrientTotals.ZERO : totals;
+        }));
+    }
+
+    /**
+     * Hit and miss counters of the per-date caches.
+     *
+     * @return stats keyed by cache name ("days", "totals")
+     */
+    public Map<String, DateCache.Stats> cacheStats() {
+        Map<String, DateCache.Stats> stats = new LinkedHashMap<>();
+        stats.put("days", dayCache.stats());
+        stats.put("totals", totalsCache.stats());
+        return stats;
+    }
+
+    /**
+     * Counters of the query coalescing behind the caches.
+     *
+     * @return stats keyed by query name ("days", "totals")
+     */
+    public Map<String, SingleFlight.Stats> loadStats() {
+        Map<String, SingleFlight.Stats> stats = new LinkedHashMap<>();
+        stats.put("days", dayLoads.stats());
+        stats.put("totals", totalsLoads.stats());
+        return stats;
+    }
+
+    /**
+     * Compute totals per date for the last N days (inclusive of today).
+     *
+     * @param days number of days to include (values less than 1 are treated as 1)
+     * @return one entry per date that has entries, newest first
+     */
+    public List<DateTotals> dailyTotals(int days) {
+        LocalDate end = LocalDate.now(clock);
+        return timed("dailyTotals", () -> totalsRepo.sumByDateBetween(startOfLastNDays(end, days), end), List::size);
+    }
+
+    /**
+     * Compute totals per meal type for the last N days (inclusive of today).
+     *
+     * @param days number of days to include (values less than 1 are treated as 1)
+     * @return one entry per meal type that has entries in the range
+     */
+    public List<MealTypeTotals> mealTypeTotals(int days) {
+        LocalDate end = LocalDate.now(clock);
+        return timed("mealTypeTotals", () -> totalsRepo.sumByMealTypeBetween(startOfLastNDays(end, days), end),
+            List::size);
+    }
+
+    /**
+     * Retrieve entries for the last N days (inclusive of today).
+     *
+     * @param days number of days to include (values less than 1 are treated as 1)
+     * @return list of entries from start..end ordered by date descending
+     */
+    public List<LogEntry> lastNDays(int days) {
+        LocalDate end = LocalDate.now(clock);
+        return timed("lastNDays", () -> repo.findByDateBetweenOrderByDateDesc(startOfLastNDays(end, days), end),
+            List::size);
+    }
+
+    /**
+     * @param days requested history window
+     * @return the window clamped to 1..{@value #MAX_HISTORY_DAYS} days
+     */
+    public static int historyDays(int days) {
+        return Math.min(Math.max(days, 1), MAX_HISTORY_DAYS);
+    }
+
+    /**
+     * @param size requested history page size
+     * @return the size clamped to 1..{@value #MAX_PAGE_SIZE}
+     */
+    public static int pageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Retrieve one page of the entries of the last N days, newest first.
+     *
+     * At most one of {@code after} and {@code before} may be given; with neither, the newest page is
+     * returned. Each page is a seek on the {@code (date, id)} index, so a deep page costs the same as
+     * the first.
+     *
+     * @param days number of days to include, clamped by {@link #historyDays(int)}
+     * @param after {@link EntryPage#getNextCursor() next cursor} of the page before, or {@code null}
+     * @param before {@link EntryPage#getPreviousCursor() previous cursor} of the page after, or {@code null}
+     * @param size entries per page, clamped by {@link #pageSize(int)}
+     * @return the page
+     * @throws IllegalArgumentException when both cursors are given or a cursor is malformed
+     */
+    public EntryPage historyPage(int days, String after, String before, int size) {
+        if (after != null && before != null) {
+            throw new IllegalArgumentException("Use either after or before, not both");
+        }
+        int pageSize = pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        LocalDate end = LocalDate.now(clock);
+        LocalDate start = startOfLastNDays(end, historyDays(days));
+
+        if (before != null) {
+            EntryPage.Cursor cursor = EntryPage.Cursor.parse(before);
+            List<LogEntry> found = timed("historyPage",
+                () -> repo.findNewerThan(start, end, cursor.date(), cursor.id(), limit), List::size);
+            List<LogEntry> newer = new ArrayList<>(found);
+            boolean hasPrevious = newer.size() > pageSize;
+            List<LogEntry> page = newer.subList(0, Math.min(newer.size(), pageSize));
+            Collections.reverse(page);
+            return new EntryPage(page, hasPrevious, true);
+        }
+
+        List<LogEntry> older;
+        if (after != null) {
+            EntryPage.Cursor cursor = EntryPage.Cursor.parse(after);
+            older = timed("historyPage", () -> repo.findOlderThan(start, end, cursor.date(), cursor.id(), limit),
+                List::size);
+        } else {
+            older = timed("historyPage", () -> repo.findNewest(start, end, limit), List::size);
+        }
+        return new EntryPage(older.subList(0, Math.min(older.size(), pageSize)), after != null, older.size() > pageSize);
+    }
+
+    /**
+     * Helper to add a quick entry for today. Accepts the meal type name and converts it to the enum.
+     *
+     * @param desc description for the new entry
+     * @param calories calories value
+     * @param protein protein grams
+     * @param carbs carbohydrate grams
+     * @param fat fat grams
+     * @param mealType string name of the MealType enum; invalid values default to {@link MealType#SNACKS}
+     */
+    @Transactional
+    public void addQuick(String desc, int calories, int protein, int carbs, int fat, String mealType) {
+        addEntry(new LogEntry(LocalDate.now(clock), desc, calories, protein, carbs, fat, resolveMealType(mealType)));
+    }
+
+    /**
+     * Convert a meal type name as submitted by a form or API client to the enum.
+     *
+     * @param mealType MealType name, case-insensitive
+     * @return the meal type, or {@link MealType#SNACKS} when the name is missing or unknown
+     */
+    public static MealType resolveMealType(String mealType) {
+        String normalized = mealType == null ? MealType.SNACKS.name() : mealType.trim().toUpperCase(Locale.ROOT);
+        try {
+            return MealType.valueOf(normalized);
+        } catch (IllegalArgumentException ex) {
+            return MealType.SNACKS;
+        }
+    }
+
+    /**
+     * Save a new entry and add it to its day's totals.
+     *
+     * @param entry transient entry to save
+     * @return the saved entry
+     */
+    @Transactional
+    public LogEntry addEntry(LogEntry entry) {
+        LogEntry saved = repo.save(entry);
+        applyToTotals(saved, 1);
+        invalidateAfterCommit(saved.getDate());
+        return saved;
+    }
+
+    /**
+     * Save many new entries in one transaction.
+     *
+     * Inserts are sent as JDBC batches and the persistence context is flushed and cleared every
+     * {@value #BULK_FLUSH_SIZE} rows, so memory stays flat however many entries are passed. The daily
+     * totals receive one update per (date, meal type) in the input rather than one per entry. Entities
+     * the caller loaded earlier in the same transaction are detached by the clears.
+     *
+     * @param entries transient entries to save
+     * @return number of entries saved
+     */
+    @Transactional
+    public int addEntries(List<LogEntry> entries) {
+        for (int from = 0; from < entries.size(); from += BULK_FLUSH_SIZE) {
+            repo.saveAll(entries.subList(from, Math.min(from + BULK_FLUSH_SIZE, entries.size())));
+            repo.flush();
+            entityManager.clear();
+        }
+
+        Map<TotalsKey, TotalsDelta> deltas = new LinkedHashMap<>();
+        for (LogEntry entry : entries) {
+            deltas.merge(new TotalsKey(entry.getDate(), entry.getMealType()), TotalsDelta.of(entry, 1), TotalsDelta::plus);
+        }
+        applyDeltas(deltas.values());
+        deltas.keySet().stream().map(TotalsKey::date).distinct().forEach(this::invalidateAfterCommit);
+        return entries.size();
+    }
+
+    /**
+     * Overwrite the date, description, nutrients and meal type of an existing entry, moving its
+     * contribution between daily totals when the date or meal type changes.
+     *
+     * @param id id of the entry to edit
+     * @param values entry carrying the new field values
+     * @return the updated entry, or empty when no entry has that id
+     */
+    @Transactional
+    public Optional<LogEntry> updateEntry(long id, LogEntry values) {
+        return repo.findById(id).map(entry -> {
+            applyToTotals(entry, -1);
+            invalidateAfterCommit(entry.getDate());
+            entry.setDate(values.getDate());
+            entry.setDescription(values.getDescription());
+            entry.setCalories(values.getCalories());
+            entry.setProtein(values.getProtein());
+            entry.setCarbs(values.getCarbs());
+            entry.setFat(values.getFat());
+            entry.setMealType(values.getMealType());
+            applyToTotals(entry, 1);
+            invalidateAfterCommit(entry.getDate());
+            return entry;
+        });
+    }
+
+    /**
+     * Delete an entry and remove it from its day's totals.
+     *
+     * @param id id of the entry to delete
+     * @return whether an entry was deleted
+     */
+    @Transactional
+    public boolean deleteEntry(long id) {
+        Optional<LogEntry> entry = repo.findById(id);
+        entry.ifPresent(e -> {
+            repo.delete(e);
+            applyToTotals(e, -1);
+            invalidateAfterCommit(e.getDate());
+        });
+        return entry.isPresent();
+    }
+
+    /**
+     * Recompute the daily totals, and the week and month rollups derived from them, from scratch,
+     * e.g. after entries were loaded or edited outside this service.
+     *
+     * @return number of (date, meal type) rows written
+     */
+    @Transactional
+    public int rebuildDailyTotals() {
+        totalsRepo.deleteAllInBatch();
+        int rows = totalsRepo.rebuildFromEntries();
+        rollups.backfill();
+        invalidateAfterCommit(null);
+        return rows;
+    }
+
+    /**
+     * Drop the cached data of a date (or of every date when {@code date} is null) once the current
+     * transaction commits; invalidating earlier would let a concurrent read re-cache the old rows.
+     */
+    private void invalidateAfterCommit(LocalDate date) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(date);
+                }
+            });
+        } else {
+            invalidate(date);
+        }
+    }
+
+    private void invalidate(LocalDate date) {
+        // Detach running loads before bumping the cache generation: a reader that misses after the
+        // bump must not join a query that started before the write committed.
+        if (date == null) {
+            dayLoads.forgetAll();
+            totalsLoads.forgetAll();
+            dayCache.invalidateAll();
+            totalsCache.invalidateAll();
+        } else {
+            dayLoads.forget(date);
+            totalsLoads.forget(date);
+            dayCache.invalidate(date);
+            totalsCache.invalidate(date);
+        }
+    }
+
+    /** Daily totals row an entry contributes to. */
+    private record TotalsKey(LocalDate date, MealType mealType) {
+    }
+
+    private void applyToTotals(LogEntry entry, int sign) {
+        applyDeltas(List.of(TotalsDelta.of(entry, sign)));
+    }
+
+    private void applyDeltas(Collection<TotalsDelta> deltas) {
+        for (TotalsDelta delta : deltas) {
+            totalsRepo.applyDelta(delta.date(), delta.mealTypeName(), delta.calories(), delta.protein(),
+                delta.carbs(), delta.fat(), delta.entries());
+        }
+        rollups.apply(deltas);
+    }
+
+    /**
+     * Run a repository read, recording its latency and row count under the calling method's name.
+     */
+    private <T> T timed(String method, Supplier<T> query, ToIntFunction<T> rows) {
+        Timer.Sample sample = Timer.start(meters);
+        T result;
+        try {
+            result = query.get();
+        } finally {
+            sample.stop(Timer.builder("log.query").tag("method", method)
+                .description("Latency of LogService repository reads").register(meters));
+        }
+        DistributionSummary.builder("log.query.rows").tag("method", method)
+            .description("Rows returned by LogService repository reads").register(meters)
+            .record(rows.applyAsInt(result));
+        return result;
+    }
+
+    private static LocalDate startOfLastNDays(LocalDate end, int days) {
+        return end.minusDays(Math.max(days, 1) - 1);
+    }
+}
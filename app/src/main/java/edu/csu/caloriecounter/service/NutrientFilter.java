@@ -0,0 +1,70 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.MealType;
+
+/**
+ * Conjunction of inclusive nutrient ranges and an optional meal type, e.g. "at most 300 kcal and at
+ * least 25 g protein". Unbounded nutrients use {@link Range#ANY}.
+ *
+ * @param calories allowed calories
+ * @param protein allowed grams of protein
+ * @param carbs allowed grams of carbohydrates
+ * @param fat allowed grams of fat
+ * @param mealType required meal type, or {@code null} for any
+ */
+public record NutrientFilter(Range calories, Range protein, Range carbs, Range fat, MealType mealType) {
+
+    /**
+     * @param item food to test
+     * @return whether the food satisfies every predicate
+     */
+    public boolean matches(FoodItem item) {
+        return calories.contains(item.getCalories()) && protein.contains(item.getProtein())
+            && carbs.contains(item.getCarbs()) && fat.contains(item.getFat())
+            && (mealType == null || item.getMealType() == mealType);
+    }
+
+    /** @return the nutrient ranges in calories, protein, carbs, fat order. */
+    Range[] ranges() {
+        return new Range[] {calories, protein, carbs, fat};
+    }
+
+    /**
+     * Inclusive integer range.
+     *
+     * @param min smallest accepted value
+     * @param max largest accepted value
+     */
+    public record Range(int min, int max) {
+        /** Range accepting every value. */
+        public static final Range ANY = new Range(Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+        /**
+         * @param min lower bound, or {@code null} for none
+         * @param max upper bound, or {@code null} for none
+         * @return the range
+         */
+        public static Range of(Integer min, Integer max) {
+            return new Range(min == null ? Integer.MIN_VALUE : min, max == null ? Integer.MAX_VALUE : max);
+        }
+
+        /**
+         * @param value value to test
+         * @return whether {@code min <= value <= max}
+         */
+        public boolean contains(int value) {
+            return value >= min && value <= max;
+        }
+
+        /** @return whether the range excludes any value. */
+        public boolean isBounded() {
+            return min != Integer.MIN_VALUE || max != Integer.MAX_VALUE;
+        }
+
+        /** @return whether no value satisfies the range. */
+        public boolean isEmpty() {
+            return min > max;
+        }
+    }
+}
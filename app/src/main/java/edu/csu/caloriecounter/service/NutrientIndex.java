@@ -0,0 +1,213 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.MealType;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sorted per-nutrient index over catalog rows, used for nutrient range queries.
+ *
+ * The rows are read through {@link Rows}, either straight from a {@link ColumnarCatalog}'s primitive
+ * columns or from the items of a plain list, and are not copied: for each nutrient the index holds the
+ * values in ascending order plus the row ids in that order, and nothing else. A query binary-searches
+ * each bounded range, walks only the narrowest one and checks the remaining predicates against the
+ * rows. Queries whose ranges are all wide are answered by a row-order scan that stops at the limit
+ * instead. Results are row ids, so callers only materialize the foods they return.
+ */
+final class NutrientIndex {
+    private static final int NUTRIENTS = 4;
+    private static final int MEAL_TYPE_COUNT = MealType.values().length;
+
+    private final Rows rows;
+    private final int[][] sortedValues = new int[NUTRIENTS][];
+    private final int[][] sortedRows = new int[NUTRIENTS][];
+
+    private NutrientIndex(Rows rows) {
+        this.rows = rows;
+        for (int n = 0; n < NUTRIENTS; n++) {
+            sortIndex(n);
+        }
+    }
+
+    /** Read access to the nutrients and meal type of each row; row ids run from 0 to {@code size() - 1}. */
+    interface Rows {
+        /** @return number of rows. */
+        int size();
+
+        /**
+         * @param row row id
+         * @param nutrient calories, protein, carbs or fat, in the order of {@link NutrientFilter#ranges()}
+         * @return the nutrient value of the row
+         */
+        int nutrient(int row, int nutrient);
+
+        /**
+         * @param row row id
+         * @return meal type of the row
+         */
+        MealType mealType(int row);
+    }
+
+    /**
+     * Index the rows of a columnar catalog.
+     *
+     * @param rows rows to index, not modified afterwards
+     * @return the index
+     */
+    static NutrientIndex over(Rows rows) {
+        return new NutrientIndex(rows);
+    }
+
+    /**
+     * Index a catalog list.
+     *
+     * @param items catalog items, random access and not modified afterwards; row ids follow list order
+     * @return the index
+     */
+    static NutrientIndex of(List<FoodItem> items) {
+        return new NutrientIndex(new Rows() {
+            @Override
+            public int size() { return items.size(); }
+
+            @Override
+            public int nutrient(int row, int nutrient) { return NutrientIndex.nutrient(items.get(row), nutrient); }
+
+            @Override
+            public MealType mealType(int row) { return items.get(row).getMealType(); }
+        });
+    }
+
+    /** @return number of rows. */
+    int size() { return rows.size(); }
+
+    /**
+     * Find the rows matching every predicate of {@code filter}.
+     *
+     * @param filter ranges and meal type to match
+     * @param limit maximum number of rows to return
+     * @return matching row ids in ascending (catalog) order, at most {@code limit}
+     */
+    int[] filter(NutrientFilter filter, int limit) {
+        NutrientFilter.Range[] ranges = filter.ranges();
+        MealType mealType = filter.mealType();
+        int size = rows.size();
+
+        // Pick the bounded nutrient whose range covers the fewest rows, and estimate the combined
+        // selectivity assuming the predicates are independent.
+        int driver = -1;
+        int from = 0;
+        int to = size;
+        double selectivity = mealType == null ? 1.0 : 1.0 / MEAL_TYPE_COUNT;
+        for (int n = 0; n < ranges.length; n++) {
+            if (ranges[n].isEmpty()) {
+                return new int[0];
+            }
+            if (!ranges[n].isBounded()) {
+                continue;
+            }
+            int lo = lowerBound(sortedValues[n], ranges[n].min());
+            int hi = upperBound(sortedValues[n], ranges[n].max());
+            selectivity *= size == 0 ? 0 : (double) (hi - lo) / size;
+            if (driver < 0 || hi - lo < to - from) {
+                driver = n;
+                from = lo;
+                to = hi;
+            }
+        }
+
+        // When the narrowest range is still wide, walking the rows in order until the limit is reached
+        // is expected to touch fewer rows than the range and needs no sort.
+        double expectedScan = selectivity == 0 ? Double.MAX_VALUE : limit / selectivity;
+        if (driver < 0 || expectedScan < to - from) {
+            int[] matched = new int[Math.min(limit, size)];
+            int found = 0;
+            for (int row = 0; row < size && found < matched.length; row++) {
+                if (matches(row, ranges, -1, mealType)) {
+                    matched[found++] = row;
+                }
+            }
+            return Arrays.copyOf(matched, found);
+        }
+
+        int[] candidates = new int[to - from];
+        int found = 0;
+        for (int i = from; i < to; i++) {
+            int row = sortedRows[driver][i];
+            if (matches(row, ranges, driver, mealType)) {
+                candidates[found++] = row;
+            }
+        }
+        Arrays.sort(candidates, 0, found);
+        return Arrays.copyOf(candidates, Math.min(found, limit));
+    }
+
+    private boolean matches(int row, NutrientFilter.Range[] ranges, int skip, MealType mealType) {
+        if (mealType != null && rows.mealType(row) != mealType) {
+            return false;
+        }
+        for (int n = 0; n < ranges.length; n++) {
+            if (n != skip && !ranges[n].contains(rows.nutrient(row, n))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Nutrient {@code n} of an item, in the order of {@link NutrientFilter#ranges()}. */
+    static int nutrient(FoodItem item, int n) {
+        return switch (n) {
+            case 0 -> item.getCalories();
+            case 1 -> item.getProtein();
+            case 2 -> item.getCarbs();
+            default -> item.getFat();
+        };
+    }
+
+    private void sortIndex(int nutrient) {
+        // Pack (value, row) into one long so a primitive sort orders rows by value, then by row id.
+        int size = rows.size();
+        long[] packed = new long[size];
+        for (int row = 0; row < size; row++) {
+            packed[row] = ((long) rows.nutrient(row, nutrient) << 32) | row;
+        }
+        Arrays.sort(packed);
+        int[] values = new int[size];
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = (int) packed[i];
+            values[i] = (int) (packed[i] >> 32);
+        }
+        sortedValues[nutrient] = values;
+        sortedRows[nutrient] = order;
+    }
+
+    private static int lowerBound(int[] values, int key) {
+        int lo = 0;
+        int hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int upperBound(int[] values, int key) {
+        int lo = 0;
+        int hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] <= key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
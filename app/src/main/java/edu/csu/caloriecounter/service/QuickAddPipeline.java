@@ -0,0 +1,360 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.LogEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Asynchronous write path for quick-add submissions.
+ *
+ * Requests put their entry and catalog food on a bounded queue and return; a single writer thread
+ * drains whatever has accumulated (up to the batch limit) and group-commits it: all entries through
+ * one {@link LogService#addEntries(List)} transaction, then all foods through one
+ * {@link FoodCatalogService#addAllToCatalog(List)} journal append. Under load many submissions share
+ * one commit; when idle a submission is written as soon as the writer wakes.
+ *
+ * With {@link Durability#COMMIT} (the default) {@link #add(LogEntry, FoodItem)} returns only after the
+ * entry's transaction committed, so the next page shows it. With {@link Durability#ENQUEUE} it
+ * returns as soon as the submission is queued; queued entries are lost if the process dies before the
+ * writer reaches them. A full queue rejects new submissions rather than blocking request threads.
+ *
+ * When a group commit fails, each of its entries is retried in its own transaction, so one bad entry
+ * fails only its own submission instead of rolling back everyone else's. Every queued submission is
+ * completed one way or another: a batch the writer could not finish fails as a whole, and submissions
+ * still queued when the writer stops fail with a {@link RejectedExecutionException}. Committing callers
+ * wait at most {@value #COMMIT_TIMEOUT_SECONDS}s.
+ *
+ * Metrics ({@code quick-add.*}): queue depth, submissions by outcome, entries by outcome, group commit
+ * duration and size, and the latency from submission to commit.
+ */
+@Service
+public class QuickAddPipeline {
+    private static final Logger log = LoggerFactory.getLogger(QuickAddPipeline.class);
+    private static final long ENQUEUE_TIMEOUT_MILLIS = 100;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+    private static final long COMMIT_TIMEOUT_SECONDS = 30;
+
+    /** When {@link #add(LogEntry, FoodItem)} acknowledges a submission. */
+    public enum Durability {
+        /** Once the submission is on the queue. */
+        ENQUEUE,
+        /** Once the transaction holding the entry has committed. */
+        COMMIT
+    }
+
+    private final LogService service;
+    private final FoodCatalogService catalogService;
+    private final Durability durability;
+    private final int maxBatch;
+    private final BlockingQueue<Pending> queue;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "quick-add-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean closed;
+
+    private final Counter submitted;
+    private final Counter rejected;
+    private final Counter committed;
+    private final Counter failed;
+    private final Timer commitTimer;
+    private final DistributionSummary batchSize;
+    private final Timer latency;
+
+    /**
+     * Create a pipeline whose metrics are kept in a private registry.
+     *
+     * @see #QuickAddPipeline(LogService, FoodCatalogService, String, int, int, MeterRegistry)
+     */
+    public QuickAddPipeline(LogService service, FoodCatalogService catalogService, String durability, int capacity,
+                            int maxBatch) {
+        this(service, catalogService, durability, capacity, maxBatch, new SimpleMeterRegistry());
+    }
+
+    /**
+     * @param service service the entries are written through
+     * @param catalogService catalog the foods are appended to
+     * @param durability {@code enqueue} or {@code commit}, case-insensitive
+     * @param capacity maximum number of queued submissions
+     * @param maxBatch maximum number of submissions per commit
+     * @param meters registry the {@code quick-add.*} metrics are published to
+     */
+    @Autowired
+    public QuickAddPipeline(LogService service, FoodCatalogService catalogService,
+                            @Value("${quick-add.durability:commit}") String durability,
+                            @Value("${quick-add.queue-capacity:1024}") int capacity,
+                            @Value("${quick-add.max-batch:256}") int maxBatch, MeterRegistry meters) {
+        this.service = service;
+        this.catalogService = catalogService;
+        this.durability = Durability.valueOf(durability.trim().toUpperCase(Locale.ROOT));
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatch = maxBatch;
+
+        Gauge.builder("quick-add.queue.depth", queue, BlockingQueue::size)
+            .description("Quick-add submissions waiting for the writer").register(meters);
+        this.submitted = Counter.builder("quick-add.submissions").tag("result", "accepted")
+            .description("Quick-add submissions by queueing outcome").register(meters);
+        this.rejected = Counter.builder("quick-add.submissions").tag("result", "rejected")
+            .description("Quick-add submissions by queueing outcome").register(meters);
+        this.committed = Counter.builder("quick-add.entries").tag("result", "committed")
+            .description("Queued quick-add entries by commit outcome").register(meters);
+        this.failed = Counter.builder("quick-add.entries").tag("result", "failed")
+            .description("Queued quick-add entries by commit outcome").register(meters);
+        this.commitTimer = Timer.builder("quick-add.commit")
+            .description("Duration of one quick-add group commit").register(meters);
+        this.batchSize = DistributionSummary.builder("quick-add.batch.size")
+            .description("Entries per quick-add group commit").register(meters);
+        this.latency = Timer.builder("quick-add.latency")
+            .description("Time from quick-add submission to commit").register(meters);
+    }
+
+    /**
+     * Start the writer thread once the bean is fully constructed.
+     */
+    @PostConstruct
+    public void start() {
+        writer.execute(this::run);
+    }
+
+    /**
+     * Snapshot of the pipeline counters.
+     *
+     * @param durability acknowledgement mode
+     * @param queueDepth submissions waiting for the writer
+     * @param queueCapacity maximum queue depth
+     * @param submitted submissions accepted
+     * @param rejected submissions turned away because the queue was full
+     * @param committed entries committed
+     * @param failed entries whose commit failed, also on their own, or that were dropped
+     * @param batches commits run
+     * @param meanBatchSize mean entries per commit
+     * @param meanCommitMillis mean duration of one group commit
+     * @param maxCommitMillis longest group commit in the registry's recent window
+     * @param meanLatencyMillis mean time from submission to commit
+     */
+    public record Stats(Durability durability, int queueDepth, int queueCapacity, long submitted, long rejected,
+                        long committed, long failed, long batches, double meanBatchSize, double meanCommitMillis,
+                        double maxCommitMillis, double meanLatencyMillis) {
+    }
+
+    /**
+     * Queue a quick-add and, with {@link Durability#COMMIT}, wait for it to be committed.
+     *
+     * @param entry entry to log
+     * @param food food to append to the catalog unless its description is already there
+     * @throws RejectedExecutionException when the queue is full or the pipeline is shutting down
+     * @throws RuntimeException the commit failure, with {@link Durability#COMMIT}; an
+     *                          {@link IllegalStateException} when the commit did not finish in time
+     */
+    public void add(LogEntry entry, FoodItem food) {
+        Pending pending = new Pending(entry, food, System.nanoTime(), new CompletableFuture<>());
+        boolean queued;
+        try {
+            queued = !closed && queue.offer(pending, ENQUEUE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        // A shutdown that began during the offer may already have drained the queue for the last time.
+        // Take the submission back unless the writer or that drain already holds it, and will complete it.
+        if (queued && closed && queue.remove(pending)) {
+            queued = false;
+        }
+        if (!queued) {
+            rejected.increment();
+            throw new RejectedExecutionException(
+                closed ? "Quick-add pipeline is shutting down" : "Quick-add queue is full");
+        }
+        submitted.increment();
+
+        if (durability == Durability.COMMIT) {
+            try {
+                pending.done().get(COMMIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+            } catch (TimeoutException e) {
+                throw new IllegalStateException(
+                    "Quick-add commit did not finish within " + COMMIT_TIMEOUT_SECONDS + "s", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the quick-add commit", e);
+            }
+        }
+    }
+
+    /** @return the current counters. */
+    public Stats stats() {
+        long batchCount = commitTimer.count();
+        long committedCount = (long) committed.count();
+        long failedCount = (long) failed.count();
+        long latencyCount = latency.count();
+        return new Stats(durability, queue.size(), queue.size() + queue.remainingCapacity(), (long) submitted.count(),
+            (long) rejected.count(), committedCount, failedCount, batchCount,
+            batchCount == 0 ? 0 : batchSize.totalAmount() / batchCount,
+            batchCount == 0 ? 0 : commitTimer.totalTime(TimeUnit.MILLISECONDS) / batchCount,
+            commitTimer.max(TimeUnit.MILLISECONDS),
+            latencyCount == 0 ? 0 : latency.totalTime(TimeUnit.MILLISECONDS) / latencyCount);
+    }
+
+    /**
+     * Stop accepting submissions, commit everything already queued and stop the writer. Submissions
+     * the writer could not reach in time fail instead of leaving their callers waiting.
+     */
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Quick-add writer did not drain within {}s; {} submissions dropped",
+                    SHUTDOWN_TIMEOUT_SECONDS, queue.size());
+                writer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            writer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        // Covers a writer that never started or is still unwinding after shutdownNow.
+        failQueued();
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        try {
+            while (!closed || !queue.isEmpty()) {
+                Pending first = queue.poll(ENQUEUE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                try {
+                    commit(batch);
+                } catch (Throwable e) {
+                    // commit completes every submission itself unless it broke off; fail whatever is left.
+                    log.error("Quick-add commit of {} entries broke off", batch.size(), e);
+                    fail(batch, e);
+                    if (e instanceof Error error) {
+                        throw error;
+                    }
+                } finally {
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // However the writer stops, nothing may be left waiting on it.
+            closed = true;
+            failQueued();
+        }
+    }
+
+    private void failQueued() {
+        List<Pending> dropped = new ArrayList<>();
+        queue.drainTo(dropped);
+        fail(dropped, new RejectedExecutionException("Quick-add pipeline stopped before committing the entry"));
+    }
+
+    private void fail(List<Pending> submissions, Throwable cause) {
+        for (Pending pending : submissions) {
+            if (pending.done().completeExceptionally(cause)) {
+                failed.increment();
+            }
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        List<LogEntry> entries = new ArrayList<>(batch.size());
+        List<FoodItem> foods = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            entries.add(pending.entry());
+            foods.add(pending.food());
+        }
+
+        Timer.Sample sample = Timer.start();
+        RuntimeException[] failures = new RuntimeException[batch.size()];
+        try {
+            service.addEntries(entries);
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} quick-add entries failed; retrying them one by one", batch.size(), e);
+            retryOneByOne(entries, foods, failures);
+        }
+        if (!foods.isEmpty()) {
+            // The catalog is a convenience for later lookups; a journal failure does not undo the entries.
+            try {
+                catalogService.addAllToCatalog(foods);
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to journal {} quick-add foods", foods.size(), e);
+            }
+        }
+        sample.stop(commitTimer);
+        batchSize.record(batch.size());
+
+        long end = System.nanoTime();
+        for (int i = 0; i < batch.size(); i++) {
+            Pending pending = batch.get(i);
+            latency.record(end - pending.submittedNanos(), TimeUnit.NANOSECONDS);
+            if (failures[i] == null) {
+                committed.increment();
+                pending.done().complete(null);
+            } else {
+                failed.increment();
+                pending.done().completeExceptionally(failures[i]);
+            }
+        }
+    }
+
+    /**
+     * Commit each entry of a failed group in its own transaction. Failures are recorded by position and
+     * the foods of failed entries are removed, so only committed entries reach the catalog. Fresh copies
+     * are saved because the rolled-back group may already have assigned ids to the originals.
+     */
+    private void retryOneByOne(List<LogEntry> entries, List<FoodItem> foods, RuntimeException[] failures) {
+        List<FoodItem> committedFoods = new ArrayList<>(foods.size());
+        for (int i = 0; i < entries.size(); i++) {
+            try {
+                LogEntry entry = entries.get(i);
+                service.addEntry(new LogEntry(entry.getDate(), entry.getDescription(), entry.getCalories(),
+                    entry.getProtein(), entry.getCarbs(), entry.getFat(), entry.getMealType()));
+                committedFoods.add(foods.get(i));
+            } catch (RuntimeException e) {
+                log.error("Failed to commit quick-add entry '{}'", entries.get(i).getDescription(), e);
+                failures[i] = e;
+            }
+        }
+        foods.clear();
+        foods.addAll(committedFoods);
+    }
+
+    /** One queued submission. */
+    private record Pending(LogEntry entry, FoodItem food, long submittedNanos, CompletableFuture<Void> done) {
+    }
+}
@@ -0,0 +1,80 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.DailyTotals;
+import edu.csu.caloriecounter.domain.MealType;
+import edu.csu.caloriecounter.domain.NutrientTotals;
+import edu.csu.caloriecounter.domain.RollupPeriod;
+import edu.csu.caloriecounter.repo.DailyTotalsRepository;
+import edu.csu.caloriecounter.repo.PeriodTotalsRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the week and month {@link edu.csu.caloriecounter.domain.PeriodTotals} buckets in step with the
+ * log entries.
+ *
+ * {@link LogService} passes every change it makes to the daily totals to {@link #apply(Collection)}
+ * inside the same transaction; deltas landing in the same bucket are merged first, so a bulk insert
+ * spanning a year costs one upsert per bucket and meal type. {@link #backfill()} rebuilds all buckets
+ * from the daily totals for data that predates the rollups.
+ */
+@Service
+public class RollupEngine {
+    private final PeriodTotalsRepository periodRepo;
+    private final DailyTotalsRepository dailyRepo;
+
+    public RollupEngine(PeriodTotalsRepository periodRepo, DailyTotalsRepository dailyRepo) {
+        this.periodRepo = periodRepo;
+        this.dailyRepo = dailyRepo;
+    }
+
+    /**
+     * Add daily deltas to their week and month buckets. Must be called inside the transaction that
+     * wrote the entries.
+     *
+     * @param deltas per-date changes
+     * @return number of bucket rows updated
+     */
+    int apply(Collection<TotalsDelta> deltas) {
+        Map<Bucket, TotalsDelta> buckets = new LinkedHashMap<>();
+        for (TotalsDelta delta : deltas) {
+            for (RollupPeriod period : RollupPeriod.values()) {
+                LocalDate start = period.start(delta.date());
+                TotalsDelta moved = new TotalsDelta(start, delta.mealType(), delta.calories(), delta.protein(),
+                    delta.carbs(), delta.fat(), delta.entries());
+                buckets.merge(new Bucket(period, start, delta.mealType()), moved, TotalsDelta::plus);
+            }
+        }
+        buckets.forEach((bucket, delta) -> periodRepo.applyDelta(bucket.period().name(), bucket.start(),
+            delta.mealTypeName(), delta.calories(), delta.protein(), delta.carbs(), delta.fat(), delta.entries()));
+        return buckets.size();
+    }
+
+    /**
+     * Recompute every bucket from the daily totals.
+     *
+     * @return number of bucket rows written
+     */
+    @Transactional
+    public int backfill() {
+        periodRepo.deleteAllInBatch();
+        List<TotalsDelta> deltas = new ArrayList<>();
+        for (DailyTotals day : dailyRepo.findAll()) {
+            NutrientTotals totals = day.getTotals();
+            deltas.add(new TotalsDelta(day.getDate(), day.getMealType(), totals.getCalories(), totals.getProtein(),
+                totals.getCarbs(), totals.getFat(), day.getEntryCount()));
+        }
+        return apply(deltas);
+    }
+
+    /** Identity of one bucket row. */
+    private record Bucket(RollupPeriod period, LocalDate start, MealType mealType) {
+    }
+}
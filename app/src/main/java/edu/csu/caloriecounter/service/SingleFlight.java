@@ -0,0 +1,86 @@
+package edu.csu.caloriecounter.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical loads: the first caller for a key runs the loader, and callers that
+ * arrive while it is running wait for and share its result (or exception) instead of issuing the same
+ * database query again. Nothing is kept once the load finishes; caching is left to the caller.
+ *
+ * {@link #forget(Object)} detaches a running load from its key, so callers arriving after a write
+ * start a new load rather than joining one that may have read the old rows.
+ *
+ * @param <K> key identifying the load (e.g. the queried date)
+ * @param <V> loaded value type
+ */
+public final class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder joined = new LongAdder();
+
+    /**
+     * Snapshot of the counters.
+     *
+     * @param loads loads actually run
+     * @param joined calls that shared another caller's load
+     * @param inFlight loads currently running
+     */
+    public record Stats(long loads, long joined, int inFlight) {
+    }
+
+    /**
+     * Run the loader for a key, or wait for the load already running for it.
+     *
+     * @param key load key
+     * @param loader loads the value; runs on the calling thread
+     * @return the loaded value
+     */
+    V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            joined.increment();
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        loads.increment();
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Stop new callers from joining the load currently running for a key.
+     *
+     * @param key load key
+     */
+    void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    /** Stop new callers from joining any running load. */
+    void forgetAll() {
+        inFlight.clear();
+    }
+
+    /** @return current counters. */
+    Stats stats() {
+        return new Stats(loads.sum(), joined.sum(), inFlight.size());
+    }
+}
@@ -0,0 +1,44 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.LogEntry;
+import edu.csu.caloriecounter.domain.MealType;
+
+import java.time.LocalDate;
+
+/**
+ * Change to the totals of one date and meal type caused by entry writes.
+ *
+ * @param date date of the affected entries
+ * @param mealType meal type of the affected entries
+ * @param calories calories to add (negative to remove)
+ * @param protein protein grams to add
+ * @param carbs carbohydrate grams to add
+ * @param fat fat grams to add
+ * @param entries change in the number of entries
+ */
+record TotalsDelta(LocalDate date, MealType mealType, long calories, long protein, long carbs, long fat, long entries) {
+
+    /**
+     * @param entry entry being added ({@code sign = 1}) or removed ({@code sign = -1})
+     * @param sign direction of the change
+     * @return the entry's contribution
+     */
+    static TotalsDelta of(LogEntry entry, int sign) {
+        return new TotalsDelta(entry.getDate(), entry.getMealType(), sign * (long) entry.getCalories(),
+            sign * (long) entry.getProtein(), sign * (long) entry.getCarbs(), sign * (long) entry.getFat(), sign);
+    }
+
+    /**
+     * @param other delta for the same date and meal type
+     * @return both changes combined
+     */
+    TotalsDelta plus(TotalsDelta other) {
+        return new TotalsDelta(date, mealType, calories + other.calories, protein + other.protein,
+            carbs + other.carbs, fat + other.fat, entries + other.entries);
+    }
+
+    /** @return the meal type name as stored, or {@code null}. */
+    String mealTypeName() {
+        return mealType == null ? null : mealType.name();
+    }
+}
@@ -0,0 +1,169 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.DateTotals;
+import edu.csu.caloriecounter.domain.MealType;
+import edu.csu.caloriecounter.domain.NutrientTotals;
+import edu.csu.caloriecounter.domain.PeriodTotals;
+import edu.csu.caloriecounter.domain.RollupPeriod;
+import edu.csu.caloriecounter.repo.DailyTotalsRepository;
+import edu.csu.caloriecounter.repo.PeriodTotalsRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Long-range trends read from the {@link RollupEngine} buckets and the daily totals.
+ *
+ * A year of weekly buckets is at most 53 rows per meal type, and the rolling averages need one daily
+ * row per day of the range plus {@value #LONGEST_WINDOW} days before it, so a query never touches
+ * individual log entries. The averages are computed from running sums, one pass per window.
+ */
+@Service
+public class TrendService {
+    /** Lengths, in days, of the rolling averages reported with every trend. */
+    public static final List<Integer> WINDOWS = List.of(7, 30, 90);
+
+    private static final int LONGEST_WINDOW = 90;
+
+    private final PeriodTotalsRepository periodRepo;
+    private final DailyTotalsRepository dailyRepo;
+
+    public TrendService(PeriodTotalsRepository periodRepo, DailyTotalsRepository dailyRepo) {
+        this.periodRepo = periodRepo;
+        this.dailyRepo = dailyRepo;
+    }
+
+    /**
+     * Totals of one bucket.
+     *
+     * @param start first day of the bucket
+     * @param totals nutrients summed over every meal type
+     * @param entries number of entries in the bucket
+     * @param byMealType nutrients per meal type that has entries in the bucket
+     */
+    public record Bucket(LocalDate start, NutrientTotals totals, long entries, Map<MealType, NutrientTotals> byMealType) {
+    }
+
+    /**
+     * Average daily intake over the days of one window that have entries.
+     *
+     * @param date last day of the window
+     * @param loggedDays days in the window with at least one entry
+     * @param calories mean calories per logged day; 0 when none was logged
+     * @param protein mean protein grams per logged day
+     * @param carbs mean carbohydrate grams per logged day
+     * @param fat mean fat grams per logged day
+     */
+    public record RollingAverage(LocalDate date, int loggedDays, double calories, double protein, double carbs,
+                                 double fat) {
+    }
+
+    /**
+     * Rolling average of one window length, one value per day of the trend's range.
+     *
+     * @param days window length
+     * @param points one average per day from the trend's first to its last day, oldest first
+     */
+    public record RollingSeries(int days, List<RollingAverage> points) {
+    }
+
+    /**
+     * Trend report.
+     *
+     * @param from requested first day
+     * @param to requested last day
+     * @param period bucket size
+     * @param buckets non-empty buckets overlapping the range, oldest first; the first and last
+     *                bucket are whole and may reach past the requested days
+     * @param byMealType bucket totals per meal type summed over every bucket
+     * @param averages one rolling average series per {@link #WINDOWS} length
+     */
+    public record Trends(LocalDate from, LocalDate to, RollupPeriod period, List<Bucket> buckets,
+                         Map<MealType, NutrientTotals> byMealType, List<RollingSeries> averages) {
+    }
+
+    /**
+     * Build the trend report for a date range.
+     *
+     * @param from inclusive first day
+     * @param to inclusive last day
+     * @param period bucket size
+     * @return buckets, per-meal-type totals and a rolling average per day of the range
+     */
+    @Transactional(readOnly = true)
+    public Trends trends(LocalDate from, LocalDate to, RollupPeriod period) {
+        List<Bucket> buckets = new ArrayList<>();
+        Map<MealType, NutrientTotals> overall = new EnumMap<>(MealType.class);
+        LocalDate start = null;
+        NutrientTotals totals = NutrientTotals.ZERO;
+        long entries = 0;
+        Map<MealType, NutrientTotals> byMealType = new EnumMap<>(MealType.class);
+        for (PeriodTotals row : periodRepo.findBuckets(period, period.start(from), period.start(to))) {
+            if (start != null && !start.equals(row.getPeriodStart())) {
+                buckets.add(new Bucket(start, totals, entries, byMealType));
+                totals = NutrientTotals.ZERO;
+                entries = 0;
+                byMealType = new EnumMap<>(MealType.class);
+            }
+            start = row.getPeriodStart();
+            totals = totals.plus(row.getTotals());
+            entries += row.getEntryCount();
+            if (row.getMealType() != null) {
+                byMealType.merge(row.getMealType(), row.getTotals(), NutrientTotals::plus);
+                overall.merge(row.getMealType(), row.getTotals(), NutrientTotals::plus);
+            }
+        }
+        if (start != null) {
+            buckets.add(new Bucket(start, totals, entries, byMealType));
+        }
+        return new Trends(from, to, period, buckets, overall, rollingAverages(from, to));
+    }
+
+    private List<RollingSeries> rollingAverages(LocalDate from, LocalDate to) {
+        // Running sums over every day from the start of the longest window ending on "from" to "to";
+        // index i + 1 holds the sums of days 0..i, so any window is a difference of two entries.
+        LocalDate first = from.minusDays(LONGEST_WINDOW - 1);
+        int span = (int) ChronoUnit.DAYS.between(first, to) + 1;
+        long[] calories = new long[span + 1];
+        long[] protein = new long[span + 1];
+        long[] carbs = new long[span + 1];
+        long[] fat = new long[span + 1];
+        int[] logged = new int[span + 1];
+        for (DateTotals day : dailyRepo.sumByDateBetween(first, to)) {
+            int i = (int) ChronoUnit.DAYS.between(first, day.getDate()) + 1;
+            calories[i] = day.getTotals().getCalories();
+            protein[i] = day.getTotals().getProtein();
+            carbs[i] = day.getTotals().getCarbs();
+            fat[i] = day.getTotals().getFat();
+            logged[i] = 1;
+        }
+        for (int i = 1; i <= span; i++) {
+            calories[i] += calories[i - 1];
+            protein[i] += protein[i - 1];
+            carbs[i] += carbs[i - 1];
+            fat[i] += fat[i - 1];
+            logged[i] += logged[i - 1];
+        }
+
+        List<RollingSeries> series = new ArrayList<>(WINDOWS.size());
+        for (int window : WINDOWS) {
+            List<RollingAverage> points = new ArrayList<>(span - LONGEST_WINDOW + 1);
+            for (int end = LONGEST_WINDOW; end <= span; end++) {
+                int start = end - window;
+                int days = logged[end] - logged[start];
+                double divisor = Math.max(days, 1);
+                points.add(new RollingAverage(first.plusDays(end - 1), days,
+                    (calories[end] - calories[start]) / divisor, (protein[end] - protein[start]) / divisor,
+                    (carbs[end] - carbs[start]) / divisor, (fat[end] - fat[start]) / divisor));
+            }
+            series.add(new RollingSeries(window, points));
+        }
+        return series;
+    }
+}
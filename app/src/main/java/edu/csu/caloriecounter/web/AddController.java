@@ -1,43 +1,43 @@
 package edu.csu.caloriecounter.web;
 
 import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.LogEntry;
 import edu.csu.caloriecounter.domain.MealType;
-import edu.csu.caloriecounter.service.FoodCatalogService;
 import edu.csu.caloriecounter.service.LogService;
+import edu.csu.caloriecounter.service.QuickAddPipeline;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
-import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Locale;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Controller responsible for the add/quick-add UI endpoints.
  *
- * Provides the add form view, including preset food selections sourced from the Excel catalog,
- * and handles quick-add POSTs that create an entry for today using the
- * {@link LogService#addQuick} helper.
+ * Provides the add form view (preset foods are looked up through {@link FoodApiController} as the
+ * user types rather than rendered into the page), and handles quick-add POSTs that create an entry for today and
+ * append the food to the catalog through the group-committing {@link QuickAddPipeline}.
  */
 @Controller
 public class AddController {
     private final LogService service;
-    private final FoodCatalogService catalogService;
+    private final QuickAddPipeline pipeline;
 
-    public AddController(LogService service, FoodCatalogService catalogService) {
+    public AddController(LogService service, QuickAddPipeline pipeline) {
         this.service = service;
-        this.catalogService = catalogService;
+        this.pipeline = pipeline;
     }
 
     /**
      * Display the add view.
      *
-     * @param model the MVC model used by the Thymeleaf view
      * @return the view name ("add")
      */
     @GetMapping("/add")
-    public String add(Model model) {
-        model.addAttribute("foods", catalogService.getCatalog());
+    public String add() {
         return "add";
     }
 
@@ -51,6 +51,7 @@ public class AddController {
      * @param fat fat grams (defaults to 0)
      * @param mealType MealType name (defaults to SNACKS)
      * @return redirect to the dashboard view
+     * @throws ResponseStatusException 503 when the write queue is full
      */
     @PostMapping("/quick-add")
     public String quickAdd(@RequestParam String description,
@@ -59,19 +60,14 @@ public class AddController {
                            @RequestParam(defaultValue="0") int carbs,
                            @RequestParam(defaultValue="0") int fat,
                            @RequestParam(defaultValue="SNACKS") String mealType) {
-        MealType resolvedMealType = resolveMealType(mealType);
+        MealType resolvedMealType = LogService.resolveMealType(mealType);
 
-        service.addQuick(description, calories, protein, carbs, fat, mealType);
-        catalogService.addToCatalog(new FoodItem(description, calories, protein, carbs, fat, resolvedMealType));
-        return "redirect:/dashboard";
-    }
-
-    private MealType resolveMealType(String mealType) {
-        String normalized = mealType == null ? MealType.SNACKS.name() : mealType.trim().toUpperCase(Locale.ROOT);
         try {
-            return MealType.valueOf(normalized);
-        } catch (IllegalArgumentException ex) {
-            return MealType.SNACKS;
+            pipeline.add(new LogEntry(service.today(), description, calories, protein, carbs, fat, resolvedMealType),
+                new FoodItem(description, calories, protein, carbs, fat, resolvedMealType));
+        } catch (RejectedExecutionException ex) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many pending entries; try again");
         }
+        return "redirect:/dashboard";
     }
 }
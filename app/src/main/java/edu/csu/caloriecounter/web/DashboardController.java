@@ -1,12 +1,13 @@
 package edu.csu.caloriecounter.web;
 
 import edu.csu.caloriecounter.domain.LogEntry;
+import edu.csu.caloriecounter.domain.NutrientTotals;
+import edu.csu.caloriecounter.service.DaySummary;
 import edu.csu.caloriecounter.service.LogService;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Controller for dashboard endpoints. Gathers today's totals and entries and exposes simple goals
@@ -25,8 +26,9 @@ public class DashboardController {
      */
     @GetMapping({"/", "/dashboard"})
     public String dashboard(Model model) {
-        Map<String,Integer> totals = service.todayTotals();
-        List<LogEntry> entries = service.todayEntries();
+        DaySummary today = service.todaySummary();
+        NutrientTotals totals = today.getTotals();
+        List<LogEntry> entries = today.getEntries();
         model.addAttribute("totals", totals);
         model.addAttribute("entries", entries);
 
@@ -36,7 +38,7 @@ public class DashboardController {
         model.addAttribute("goalCarbs", 250);
         model.addAttribute("goalFat", 70);
 
-        int cal = totals.getOrDefault("calories", 0);
+        long cal = totals.getCalories();
         int percent = (int) Math.min(100, Math.round(100.0 * cal / Math.max(goalCalories, 1)));
         model.addAttribute("percent", percent);
 
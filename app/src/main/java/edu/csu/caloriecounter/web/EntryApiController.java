@@ -0,0 +1,148 @@
+package edu.csu.caloriecounter.web;
+
+import edu.csu.caloriecounter.domain.LogEntry;
+import edu.csu.caloriecounter.service.DateCache;
+import edu.csu.caloriecounter.service.EntryExporter;
+import edu.csu.caloriecounter.service.LogService;
+import edu.csu.caloriecounter.service.QuickAddPipeline;
+import edu.csu.caloriecounter.service.SingleFlight;
+import edu.csu.caloriecounter.web.dto.BatchResult;
+import edu.csu.caloriecounter.web.dto.EntryRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * JSON endpoints over the food log.
+ */
+@RestController
+@RequestMapping("/api/entries")
+public class EntryApiController {
+    private static final int MAX_BATCH = 10_000;
+    private static final String NDJSON = "application/x-ndjson";
+
+    private static final LocalDate EARLIEST = LocalDate.of(1, 1, 1);
+
+    private final LogService service;
+    private final EntryExporter exporter;
+    private final QuickAddPipeline pipeline;
+
+    public EntryApiController(LogService service, EntryExporter exporter, QuickAddPipeline pipeline) {
+        this.service = service;
+        this.exporter = exporter;
+        this.pipeline = pipeline;
+    }
+
+    /**
+     * Download the entries of a date range, oldest first. Rows are streamed to the response as they
+     * are read, so any range can be exported without holding it in memory.
+     *
+     * @param from inclusive start date ({@code yyyy-MM-dd}); unbounded when omitted
+     * @param to inclusive end date; today when omitted
+     * @param format {@code csv} (default) or {@code ndjson}
+     * @return the streamed export
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") String format) {
+        EntryExporter.Format exportFormat;
+        try {
+            exportFormat = EntryExporter.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown export format: " + format);
+        }
+        LocalDate start = from == null ? EARLIEST : from;
+        LocalDate end = to == null ? service.today() : to;
+        if (start.isAfter(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from is after to");
+        }
+
+        boolean csv = exportFormat == EntryExporter.Format.CSV;
+        StreamingResponseBody body = out -> exporter.export(start, end, exportFormat, out);
+        return ResponseEntity.ok()
+            .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.parseMediaType(NDJSON))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("entries." + (csv ? "csv" : "ndjson")).build().toString())
+            .body(body);
+    }
+
+    /**
+     * Hit, miss and eviction counters of the per-date entry and totals caches behind the dashboard.
+     *
+     * @return stats keyed by cache name
+     */
+    @GetMapping("/cache-stats")
+    public Map<String, DateCache.Stats> cacheStats() {
+        return service.cacheStats();
+    }
+
+    /**
+     * Counters of the query coalescing behind those caches: how many loads ran and how many callers
+     * shared a load already in flight.
+     *
+     * @return stats keyed by query name
+     */
+    @GetMapping("/load-stats")
+    public Map<String, SingleFlight.Stats> loadStats() {
+        return service.loadStats();
+    }
+
+    /**
+     * Queue depth, group-commit sizes and commit latency of the quick-add write pipeline.
+     *
+     * @return the pipeline counters
+     */
+    @GetMapping("/quick-add-stats")
+    public QuickAddPipeline.Stats quickAddStats() {
+        return pipeline.stats();
+    }
+
+    /**
+     * Create many entries in one transaction with batched inserts.
+     *
+     * @param requests entries to create, at most {@value #MAX_BATCH}; a {@code null} body or element is a 400
+     * @return number of entries saved
+     */
+    @PostMapping("/batch")
+    public BatchResult batch(@RequestBody List<EntryRequest> requests) {
+        if (requests == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Request body must be a JSON array of entries");
+        }
+        if (requests.size() > MAX_BATCH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_BATCH + " entries per batch");
+        }
+        LocalDate today = service.today();
+        List<LogEntry> entries = new ArrayList<>(requests.size());
+        try {
+            for (EntryRequest request : requests) {
+                if (request == null) {
+                    throw new IllegalArgumentException("Entry must be an object, not null");
+                }
+                entries.add(request.toLogEntry(today));
+            }
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Entry " + entries.size() + ": " + ex.getMessage());
+        }
+        return new BatchResult(service.addEntries(entries));
+    }
+}
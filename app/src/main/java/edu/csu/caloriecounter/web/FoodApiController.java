@@ -0,0 +1,213 @@
+package edu.csu.caloriecounter.web;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.MealType;
+import edu.csu.caloriecounter.service.CatalogImporter;
+import edu.csu.caloriecounter.service.CatalogPayload;
+import edu.csu.caloriecounter.service.FoodCatalogService;
+import edu.csu.caloriecounter.service.NutrientFilter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * JSON endpoints over the food catalog: the typeahead search used by the add page (instead of
+ * embedding the whole catalog in the rendered HTML), nutrient range filtering, a cacheable
+ * whole-catalog snapshot, and bulk import.
+ */
+@RestController
+@RequestMapping("/api/foods")
+public class FoodApiController {
+    private static final int MAX_LIMIT = 50;
+    private static final int MAX_FILTER_LIMIT = 500;
+    private static final String CATALOG_VERSION_HEADER = "X-Catalog-Version";
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final FoodCatalogService catalogService;
+    private final CatalogImporter importer;
+
+    public FoodApiController(FoodCatalogService catalogService, CatalogImporter importer) {
+        this.catalogService = catalogService;
+        this.importer = importer;
+    }
+
+    /**
+     * Whole-catalog snapshot for clients that cache the catalog locally.
+     *
+     * The body is pre-serialized (and pre-compressed) once per catalog version. Responses carry a
+     * strong {@code ETag}, so a client or edge cache revalidating with {@code If-None-Match} gets
+     * {@code 304 Not Modified} until the catalog changes.
+     *
+     * @param acceptEncoding request {@code Accept-Encoding}; gzip is served when accepted with a non-zero
+     *                       q-value, and the response varies by this header
+     * @return the catalog JSON, or 304 when the client's copy is current
+     */
+    @GetMapping("/catalog")
+    public ResponseEntity<byte[]> catalog(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CatalogPayload payload = catalogService.getPayload();
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .eTag(payload.getEtag(gzip))
+            .cacheControl(CacheControl.noCache())
+            .varyBy(HttpHeaders.ACCEPT_ENCODING)
+            .header(CATALOG_VERSION_HEADER, Long.toString(payload.getVersion()))
+            .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.getGzip());
+        }
+        return response.body(payload.getJson());
+    }
+
+    /**
+     * Typeahead search over catalog descriptions.
+     *
+     * @param q text typed so far (blank returns the first foods alphabetically)
+     * @param mealType optional MealType name to restrict results to
+     * @param limit maximum number of results (clamped to 1..50, defaults to 10)
+     * @return matching foods, best match first
+     */
+    @GetMapping("/search")
+    public List<FoodItem> search(@RequestParam(defaultValue = "") String q,
+                                 @RequestParam(required = false) String mealType,
+                                 @RequestParam(defaultValue = "10") int limit) {
+        int safeLimit = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        return catalogService.search(q, parseMealType(mealType), safeLimit);
+    }
+
+    /**
+     * Nutrient range filter over the catalog. Every bound is optional and inclusive; all given bounds
+     * must hold.
+     *
+     * @param minCalories lower calorie bound
+     * @param maxCalories upper calorie bound
+     * @param minProtein lower protein bound (g)
+     * @param maxProtein upper protein bound (g)
+     * @param minCarbs lower carbohydrate bound (g)
+     * @param maxCarbs upper carbohydrate bound (g)
+     * @param minFat lower fat bound (g)
+     * @param maxFat upper fat bound (g)
+     * @param mealType optional MealType name to restrict results to
+     * @param limit maximum number of results (clamped to 1..500, defaults to 50)
+     * @return matching foods in catalog order
+     */
+    @GetMapping("/filter")
+    public List<FoodItem> filter(@RequestParam(required = false) Integer minCalories,
+                                 @RequestParam(required = false) Integer maxCalories,
+                                 @RequestParam(required = false) Integer minProtein,
+                                 @RequestParam(required = false) Integer maxProtein,
+                                 @RequestParam(required = false) Integer minCarbs,
+                                 @RequestParam(required = false) Integer maxCarbs,
+                                 @RequestParam(required = false) Integer minFat,
+                                 @RequestParam(required = false) Integer maxFat,
+                                 @RequestParam(required = false) String mealType,
+                                 @RequestParam(defaultValue = "50") int limit) {
+        NutrientFilter filter = new NutrientFilter(
+            range("calories", minCalories, maxCalories),
+            range("protein", minProtein, maxProtein),
+            range("carbs", minCarbs, maxCarbs),
+            range("fat", minFat, maxFat),
+            parseMealType(mealType));
+        int safeLimit = Math.min(Math.max(limit, 1), MAX_FILTER_LIMIT);
+        return catalogService.filter(filter, safeLimit);
+    }
+
+    /**
+     * Bulk import of catalog foods from a CSV ({@code text/csv}, header row required) or NDJSON
+     * ({@code application/x-ndjson}) request body. The body is streamed and committed in batches;
+     * foods whose description is already in the catalog are skipped.
+     *
+     * @param body raw request body
+     * @param contentType request {@code Content-Type}, which selects the format
+     * @return row counts and the first validation errors; 503 when the committers stay busy
+     * @throws IOException when the body cannot be read or the catalog journal cannot be written
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", NDJSON, "application/ndjson"})
+    public CatalogImporter.Result importFoods(InputStream body,
+                                              @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) throws IOException {
+        CatalogImporter.Format format = contentType.toLowerCase(Locale.ROOT).startsWith("text/csv")
+            ? CatalogImporter.Format.CSV
+            : CatalogImporter.Format.NDJSON;
+        try {
+            return importer.importFoods(body, format);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        } catch (RejectedExecutionException ex) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+        }
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header accepts gzip. An explicit {@code gzip} (or
+     * {@code x-gzip}) coding decides; otherwise {@code *} does. A q-value of 0 means "not acceptable".
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = qValue(parts) > 0;
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                return accepted;
+            }
+            if (coding.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    /** The {@code q} parameter of a parsed coding; 1 when absent and 0 when malformed. */
+    private static double qValue(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 1 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q')
+                && parameter.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private NutrientFilter.Range range(String nutrient, Integer min, Integer max) {
+        NutrientFilter.Range range = NutrientFilter.Range.of(min, max);
+        if (range.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Minimum " + nutrient + " exceeds maximum");
+        }
+        return range;
+    }
+
+    private MealType parseMealType(String mealType) {
+        if (mealType == null || mealType.isBlank()) {
+            return null;
+        }
+        try {
+            return MealType.valueOf(mealType.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown meal type: " + mealType);
+        }
+    }
+}
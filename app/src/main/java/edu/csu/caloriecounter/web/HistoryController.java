@@ -0,0 +1,50 @@
+package edu.csu.caloriecounter.web;
+
+import edu.csu.caloriecounter.service.EntryPage;
+import edu.csu.caloriecounter.service.LogService;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Controller that provides a simple history view of recent log entries and their per-day totals.
+ */
+@Controller
+public class HistoryController {
+    private final LogService service;
+    public HistoryController(LogService service) { this.service = service; }
+
+    /**
+     * Show the per-day totals of the last {@code days} days and one page of their entries, newest first.
+     *
+     * @param model MVC model provided to the Thymeleaf view
+     * @param days number of days of history to display (defaults to 7, at most {@value LogService#MAX_HISTORY_DAYS})
+     * @param after cursor of the page to continue after (older entries)
+     * @param before cursor of the page to continue before (newer entries)
+     * @param size entries per page (defaults to 25, at most {@link LogService#MAX_PAGE_SIZE})
+     * @return the history view name
+     */
+    @GetMapping("/history")
+    public String history(Model model,
+                          @RequestParam(defaultValue = "7") int days,
+                          @RequestParam(required = false) String after,
+                          @RequestParam(required = false) String before,
+                          @RequestParam(defaultValue = "25") int size) {
+        int safeDays = LogService.historyDays(days);
+        EntryPage page;
+        try {
+            page = service.historyPage(safeDays, after, before, size);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+        model.addAttribute("page", page);
+        model.addAttribute("history", page.getEntries());
+        model.addAttribute("dailyTotals", service.dailyTotals(safeDays));
+        model.addAttribute("days", safeDays);
+        model.addAttribute("size", LogService.pageSize(size));
+        return "history";
+    }
+}
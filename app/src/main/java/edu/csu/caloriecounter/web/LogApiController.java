@@ -0,0 +1,99 @@
+package edu.csu.caloriecounter.web;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.LogEntry;
+import edu.csu.caloriecounter.service.EntryPage;
+import edu.csu.caloriecounter.service.FoodCatalogService;
+import edu.csu.caloriecounter.service.LogService;
+import edu.csu.caloriecounter.web.dto.CreatedEntry;
+import edu.csu.caloriecounter.web.dto.DayView;
+import edu.csu.caloriecounter.web.dto.EntryRequest;
+import edu.csu.caloriecounter.web.dto.EntryView;
+import edu.csu.caloriecounter.web.dto.HistoryView;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+
+/**
+ * Versioned JSON counterpart of the dashboard, history and quick-add pages for API clients. Responses
+ * are compact DTOs rather than entities, and nothing is rendered through the template engine.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class LogApiController {
+    private final LogService service;
+    private final FoodCatalogService catalogService;
+
+    public LogApiController(LogService service, FoodCatalogService catalogService) {
+        this.service = service;
+        this.catalogService = catalogService;
+    }
+
+    /**
+     * Today's totals and entries, from the same cached read as the dashboard.
+     *
+     * @return the day
+     */
+    @GetMapping("/today")
+    public DayView today() {
+        LocalDate today = service.today();
+        return DayView.of(today, service.daySummary(today));
+    }
+
+    /**
+     * Per-day totals of the last {@code days} days and one page of their entries, newest first.
+     *
+     * @param days number of days ending today (defaults to 7, at most {@value LogService#MAX_HISTORY_DAYS})
+     * @param after {@code nextCursor} of the previous response, for older entries
+     * @param before {@code previousCursor} of the previous response, for newer entries
+     * @param size entries per page (defaults to 25, at most {@link LogService#MAX_PAGE_SIZE})
+     * @return the totals and the page
+     */
+    @GetMapping("/history")
+    public HistoryView history(@RequestParam(defaultValue = "7") int days,
+                               @RequestParam(required = false) String after,
+                               @RequestParam(required = false) String before,
+                               @RequestParam(defaultValue = "25") int size) {
+        int safeDays = LogService.historyDays(days);
+        EntryPage page;
+        try {
+            page = service.historyPage(safeDays, after, before, size);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+        return HistoryView.of(safeDays, service.dailyTotals(safeDays), page);
+    }
+
+    /**
+     * Create one entry and answer with it and its day's updated totals.
+     *
+     * @param request the entry; date defaults to today and meal type to {@code SNACKS}
+     * @param catalog also append the food to the preset catalog, as the quick-add form does
+     * @return the saved entry and the totals of its date
+     */
+    @PostMapping("/entries")
+    @ResponseStatus(HttpStatus.CREATED)
+    public CreatedEntry create(@RequestBody EntryRequest request,
+                               @RequestParam(defaultValue = "false") boolean catalog) {
+        LogEntry entry;
+        try {
+            entry = request.toLogEntry(service.today());
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+        LogEntry saved = service.addEntry(entry);
+        if (catalog) {
+            catalogService.addToCatalog(new FoodItem(saved.getDescription(), saved.getCalories(), saved.getProtein(),
+                saved.getCarbs(), saved.getFat(), saved.getMealType()));
+        }
+        return new CreatedEntry(EntryView.of(saved), service.totalsForDate(saved.getDate()));
+    }
+}
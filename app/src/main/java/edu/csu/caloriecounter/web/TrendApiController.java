@@ -0,0 +1,63 @@
+package edu.csu.caloriecounter.web;
+
+import edu.csu.caloriecounter.domain.RollupPeriod;
+import edu.csu.caloriecounter.service.LogService;
+import edu.csu.caloriecounter.service.TrendService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * JSON endpoint for long-range nutrition trends.
+ */
+@RestController
+@RequestMapping("/api/trends")
+public class TrendApiController {
+    private static final int MAX_YEARS = 10;
+
+    private final TrendService trends;
+    private final LogService service;
+
+    public TrendApiController(TrendService trends, LogService service) {
+        this.trends = trends;
+        this.service = service;
+    }
+
+    /**
+     * Week or month buckets with per-meal-type breakdowns, plus 7-, 30- and 90-day rolling averages
+     * with one value for each day of the range.
+     *
+     * @param from inclusive first day ({@code yyyy-MM-dd}); one year before {@code to} when omitted
+     * @param to inclusive last day; today when omitted
+     * @param period {@code week} (default) or {@code month}
+     * @return the trend report
+     */
+    @GetMapping
+    public TrendService.Trends trends(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "week") String period) {
+        RollupPeriod rollupPeriod;
+        try {
+            rollupPeriod = RollupPeriod.valueOf(period.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown trend period: " + period);
+        }
+        LocalDate end = to == null ? service.today() : to;
+        LocalDate start = from == null ? end.minusYears(1).plusDays(1) : from;
+        if (start.isAfter(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from is after to");
+        }
+        if (start.isBefore(end.minusYears(MAX_YEARS))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_YEARS + " years per query");
+        }
+        return trends.trends(start, end, rollupPeriod);
+    }
+}
@@ -0,0 +1,9 @@
+package edu.csu.caloriecounter.web.dto;
+
+/**
+ * Response of a bulk entry insert.
+ *
+ * @param saved number of entries saved
+ */
+public record BatchResult(int saved) {
+}
@@ -0,0 +1,13 @@
+package edu.csu.caloriecounter.web.dto;
+
+import edu.csu.caloriecounter.domain.NutrientTotals;
+
+/**
+ * Response of an entry creation: the saved entry and the updated totals of its day, so a client can
+ * refresh its view without another request.
+ *
+ * @param entry the saved entry
+ * @param dayTotals totals of the entry's date, including the entry
+ */
+public record CreatedEntry(EntryView entry, NutrientTotals dayTotals) {
+}
@@ -0,0 +1,26 @@
+package edu.csu.caloriecounter.web.dto;
+
+import edu.csu.caloriecounter.domain.NutrientTotals;
+import edu.csu.caloriecounter.service.DaySummary;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A day's totals and entries.
+ *
+ * @param date the day
+ * @param totals summed nutrients of the entries
+ * @param entries the day's entries
+ */
+public record DayView(LocalDate date, NutrientTotals totals, List<EntryView> entries) {
+
+    /**
+     * @param date the day the summary was read for
+     * @param summary entries and totals of that day
+     * @return the view
+     */
+    public static DayView of(LocalDate date, DaySummary summary) {
+        return new DayView(date, summary.getTotals(), summary.getEntries().stream().map(EntryView::of).toList());
+    }
+}
@@ -0,0 +1,40 @@
+package edu.csu.caloriecounter.web.dto;
+
+import edu.csu.caloriecounter.domain.LogEntry;
+import edu.csu.caloriecounter.domain.MealType;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * JSON body describing one log entry to create.
+ *
+ * @param date entry date ({@code yyyy-MM-dd}); today when omitted
+ * @param description food description; required
+ * @param calories calories value
+ * @param protein protein grams
+ * @param carbs carbohydrate grams
+ * @param fat fat grams
+ * @param mealType MealType name, case-insensitive; {@code SNACKS} when omitted
+ */
+public record EntryRequest(LocalDate date, String description, int calories, int protein, int carbs, int fat,
+                           String mealType) {
+
+    /**
+     * @param today date used when the request has none
+     * @return a new transient entry
+     * @throws IllegalArgumentException when the description is blank or the meal type is unknown
+     */
+    public LogEntry toLogEntry(LocalDate today) {
+        if (description == null || description.isBlank()) {
+            throw new IllegalArgumentException("Entry description is required");
+        }
+        MealType resolved;
+        try {
+            resolved = mealType == null ? MealType.SNACKS : MealType.valueOf(mealType.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown meal type: " + mealType);
+        }
+        return new LogEntry(date == null ? today : date, description.trim(), calories, protein, carbs, fat, resolved);
+    }
+}
@@ -0,0 +1,31 @@
+package edu.csu.caloriecounter.web.dto;
+
+import edu.csu.caloriecounter.domain.LogEntry;
+import edu.csu.caloriecounter.domain.MealType;
+
+import java.time.LocalDate;
+
+/**
+ * JSON view of one log entry, detached from the JPA entity.
+ *
+ * @param id entry id
+ * @param date entry date
+ * @param description food description
+ * @param calories calories value
+ * @param protein protein grams
+ * @param carbs carbohydrate grams
+ * @param fat fat grams
+ * @param mealType meal classification
+ */
+public record EntryView(long id, LocalDate date, String description, int calories, int protein, int carbs, int fat,
+                        MealType mealType) {
+
+    /**
+     * @param entry persisted entry
+     * @return its view
+     */
+    public static EntryView of(LogEntry entry) {
+        return new EntryView(entry.getId(), entry.getDate(), entry.getDescription(), entry.getCalories(),
+            entry.getProtein(), entry.getCarbs(), entry.getFat(), entry.getMealType());
+    }
+}
@@ -0,0 +1,30 @@
+package edu.csu.caloriecounter.web.dto;
+
+import edu.csu.caloriecounter.domain.DateTotals;
+import edu.csu.caloriecounter.service.EntryPage;
+
+import java.util.List;
+
+/**
+ * Per-day totals of a range and one page of its entries, newest first.
+ *
+ * @param days number of days covered, ending today
+ * @param dailyTotals one row per date with entries, newest first
+ * @param entries this page of entries
+ * @param previousCursor {@code before} value for the newer page, or {@code null} on the first page
+ * @param nextCursor {@code after} value for the older page, or {@code null} on the last page
+ */
+public record HistoryView(int days, List<DateTotals> dailyTotals, List<EntryView> entries, String previousCursor,
+                          String nextCursor) {
+
+    /**
+     * @param days number of days covered
+     * @param dailyTotals per-day totals of those days
+     * @param page the page of entries
+     * @return the view
+     */
+    public static HistoryView of(int days, List<DateTotals> dailyTotals, EntryPage page) {
+        return new HistoryView(days, dailyTotals, page.getEntries().stream().map(EntryView::of).toList(),
+            page.getPreviousCursor(), page.getNextCursor());
+    }
+}
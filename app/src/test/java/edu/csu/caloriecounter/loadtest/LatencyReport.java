@@ -0,0 +1,83 @@
+package edu.csu.caloriecounter.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-endpoint throughput and latency percentiles of one load run, formatted as a fixed-layout text
+ * table so reports from two versions can be compared with {@code diff}.
+ */
+final class LatencyReport {
+
+    /**
+     * Summary of one endpoint.
+     *
+     * @param endpoint endpoint name
+     * @param requests completed requests
+     * @param errors requests that failed or returned a status of 400 or above
+     * @param throughput requests per second over the measured window
+     * @param p50 median latency in milliseconds
+     * @param p95 95th percentile latency in milliseconds
+     * @param p99 99th percentile latency in milliseconds
+     * @param max slowest request in milliseconds
+     */
+    record Row(String endpoint, long requests, long errors, double throughput, double p50, double p95, double p99,
+               double max) {
+    }
+
+    private LatencyReport() {
+    }
+
+    /**
+     * @param endpoint endpoint name
+     * @param latencies request latencies in nanoseconds; sorted in place
+     * @param errors failed requests
+     * @param seconds length of the measured window
+     * @return the endpoint's summary
+     */
+    static Row summarize(String endpoint, long[] latencies, long errors, double seconds) {
+        Arrays.sort(latencies);
+        return new Row(endpoint, latencies.length, errors, latencies.length / seconds,
+            millis(percentile(latencies, 50)), millis(percentile(latencies, 95)), millis(percentile(latencies, 99)),
+            millis(latencies.length == 0 ? 0 : latencies[latencies.length - 1]));
+    }
+
+    /**
+     * Nearest-rank percentile.
+     *
+     * @param sorted values in ascending order
+     * @param percentile 0 (exclusive) to 100
+     * @return the smallest value with at least {@code percentile}% of the values at or below it; 0 when empty
+     */
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length / 100);
+        return sorted[Math.min(Math.max(rank, 1), sorted.length) - 1];
+    }
+
+    /**
+     * @param settings run configuration, printed as a header
+     * @param rows one summary per endpoint
+     * @return the report text
+     */
+    static String format(Map<String, ?> settings, List<Row> rows) {
+        StringBuilder out = new StringBuilder();
+        settings.forEach((key, value) -> out.append("# ").append(key).append(" = ").append(value).append('\n'));
+        out.append(String.format(Locale.ROOT, "%-12s %9s %7s %10s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "errors", "req/s", "p50_ms", "p95_ms", "p99_ms", "max_ms"));
+        for (Row row : rows) {
+            out.append(String.format(Locale.ROOT, "%-12s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                row.endpoint(), row.requests(), row.errors(), row.throughput(), row.p50(), row.p95(), row.p99(),
+                row.max()));
+        }
+        return out.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,41 @@
+package edu.csu.caloriecounter.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyReportTest {
+
+    @Test
+    void percentilesUseNearestRank() {
+        long[] sorted = new long[100];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = i + 1;
+        }
+
+        assertThat(LatencyReport.percentile(sorted, 50)).isEqualTo(50);
+        assertThat(LatencyReport.percentile(sorted, 99)).isEqualTo(99);
+        assertThat(LatencyReport.percentile(sorted, 99.9)).isEqualTo(100);
+        assertThat(LatencyReport.percentile(new long[] {7}, 95)).isEqualTo(7);
+        assertThat(LatencyReport.percentile(new long[0], 50)).isZero();
+    }
+
+    @Test
+    void summaryConvertsToMillisecondsAndFormatsOneLinePerEndpoint() {
+        LatencyReport.Row row = LatencyReport.summarize("dashboard", new long[] {3_000_000, 1_000_000, 2_000_000}, 1, 2.0);
+
+        assertThat(row.requests()).isEqualTo(3);
+        assertThat(row.throughput()).isEqualTo(1.5);
+        assertThat(row.p50()).isEqualTo(2.0);
+        assertThat(row.max()).isEqualTo(3.0);
+
+        String report = LatencyReport.format(Map.of("concurrency", 4), List.of(row));
+        assertThat(report.lines()).containsExactly(
+            "# concurrency = 4",
+            "endpoint      requests  errors      req/s    p50_ms    p95_ms    p99_ms    max_ms",
+            "dashboard            3       1        1.5      2.00      3.00      3.00      3.00");
+    }
+}
@@ -0,0 +1,168 @@
+package edu.csu.caloriecounter.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop HTTP load: each worker sends one request, waits for the response, then picks the next
+ * endpoint by weight, until the run ends. Requests finishing during the warm-up are not recorded.
+ * Workers keep their own latency buffers, so recording never contends between threads.
+ */
+final class LoadGenerator {
+
+    /**
+     * One endpoint of the mix.
+     *
+     * @param name name used in the report
+     * @param weight relative share of requests
+     * @param request builds the next request (called by worker threads)
+     */
+    record Endpoint(String name, int weight, Supplier<HttpRequest> request) {
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .followRedirects(HttpClient.Redirect.NEVER)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    private final List<Endpoint> endpoints;
+    private final int totalWeight;
+
+    LoadGenerator(List<Endpoint> endpoints) {
+        this.endpoints = List.copyOf(endpoints);
+        this.totalWeight = endpoints.stream().mapToInt(Endpoint::weight).sum();
+    }
+
+    /**
+     * Run the load and summarize it.
+     *
+     * @param concurrency number of workers, each with at most one request in flight
+     * @param warmup time before recording starts
+     * @param duration measured time after the warm-up
+     * @return one summary per endpoint, in mix order
+     */
+    List<LatencyReport.Row> run(int concurrency, Duration warmup, Duration duration) throws Exception {
+        long start = System.nanoTime();
+        long recordFrom = start + warmup.toNanos();
+        long end = recordFrom + duration.toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Samples>> results = new ArrayList<>(concurrency);
+        try {
+            for (int i = 0; i < concurrency; i++) {
+                results.add(workers.submit(() -> work(recordFrom, end)));
+            }
+            Samples total = new Samples(endpoints.size());
+            for (Future<Samples> result : results) {
+                total.addAll(result.get());
+            }
+
+            double seconds = duration.toNanos() / 1e9;
+            List<LatencyReport.Row> rows = new ArrayList<>(endpoints.size());
+            for (int i = 0; i < endpoints.size(); i++) {
+                rows.add(LatencyReport.summarize(endpoints.get(i).name(), total.latencies(i), total.errors[i], seconds));
+            }
+            return rows;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /** @return the configured weights keyed by endpoint name. */
+    Map<String, Integer> mix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        endpoints.forEach(endpoint -> mix.put(endpoint.name(), endpoint.weight()));
+        return mix;
+    }
+
+    private Samples work(long recordFrom, long end) throws InterruptedException {
+        Samples samples = new Samples(endpoints.size());
+        while (System.nanoTime() < end) {
+            int index = pick();
+            HttpRequest request = endpoints.get(index).request().get();
+            long sent = System.nanoTime();
+            boolean ok;
+            try {
+                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+            } catch (IOException e) {
+                ok = false;
+            }
+            long done = System.nanoTime();
+            if (sent >= recordFrom && done <= end) {
+                samples.record(index, done - sent, ok);
+            }
+        }
+        return samples;
+    }
+
+    private int pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < endpoints.size(); i++) {
+            ticket -= endpoints.get(i).weight();
+            if (ticket < 0) {
+                return i;
+            }
+        }
+        return endpoints.size() - 1;
+    }
+
+    static HttpRequest get(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    static HttpRequest postForm(URI uri, String form) {
+        return HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .POST(HttpRequest.BodyPublishers.ofString(form))
+            .build();
+    }
+
+    /** Latencies and error counts of one worker, or of all workers once merged. */
+    private static final class Samples {
+        private final long[][] latencies;
+        private final int[] sizes;
+        private final long[] errors;
+
+        Samples(int endpoints) {
+            latencies = new long[endpoints][1024];
+            sizes = new int[endpoints];
+            errors = new long[endpoints];
+        }
+
+        void record(int endpoint, long nanos, boolean ok) {
+            if (!ok) {
+                errors[endpoint]++;
+            }
+            if (sizes[endpoint] == latencies[endpoint].length) {
+                latencies[endpoint] = Arrays.copyOf(latencies[endpoint], sizes[endpoint] * 2);
+            }
+            latencies[endpoint][sizes[endpoint]++] = nanos;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < sizes.length; i++) {
+                for (int j = 0; j < other.sizes[i]; j++) {
+                    record(i, other.latencies[i][j], true);
+                }
+                errors[i] += other.errors[i];
+            }
+        }
+
+        long[] latencies(int endpoint) {
+            return Arrays.copyOf(latencies[endpoint], sizes[endpoint]);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package edu.csu.caloriecounter.loadtest;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.LogEntry;
+import edu.csu.caloriecounter.domain.MealType;
+import edu.csu.caloriecounter.service.FoodCatalogService;
+import edu.csu.caloriecounter.service.LogService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application on a random port with its own in-memory database, seeds a history of entries,
+ * then drives a mixed read/write workload over HTTP and writes per-endpoint throughput and latency
+ * percentiles to a text report.
+ *
+ * Opt-in: {@code mvn -Ploadtest test}. Settings are system properties, e.g.
+ * {@code -Dloadtest.concurrency=64 -Dloadtest.duration=60}; see the constants below for defaults. Quick-add
+ * posts use foods already in the catalog, so the run never writes to the catalog workbook or journal.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;MODE=MySQL",
+    "spring.h2.console.enabled=false",
+    "logging.level.root=WARN"
+})
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class LoadTest {
+    private static final Logger log = LoggerFactory.getLogger(LoadTest.class);
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 32);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration", 30);
+    private static final int SEED_DAYS = Integer.getInteger("loadtest.seed-days", 365);
+    private static final int SEED_ENTRIES_PER_DAY = Integer.getInteger("loadtest.seed-entries-per-day", 8);
+    private static final int HISTORY_DAYS = Integer.getInteger("loadtest.history-days", 30);
+    private static final String MIX = System.getProperty("loadtest.mix", "dashboard=40,history=25,add=10,quick-add=25");
+    private static final Path REPORT = Path.of(System.getProperty("loadtest.report", "target/loadtest/report.txt"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private LogService service;
+
+    @Autowired
+    private FoodCatalogService catalogService;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        seed();
+        List<FoodItem> foods = catalogService.getCatalog();
+        assertThat(foods).as("quick-add posts reuse catalog foods").isNotEmpty();
+
+        URI base = URI.create("http://localhost:" + port);
+        Map<String, Integer> weights = parseMix(MIX);
+        List<LoadGenerator.Endpoint> endpoints = new ArrayList<>();
+        weights.forEach((name, weight) -> endpoints.add(new LoadGenerator.Endpoint(name, weight, switch (name) {
+            case "dashboard" -> () -> LoadGenerator.get(base.resolve("/dashboard"));
+            case "history" -> () -> LoadGenerator.get(base.resolve("/history?days=" + HISTORY_DAYS));
+            case "add" -> () -> LoadGenerator.get(base.resolve("/add"));
+            case "quick-add" -> () -> LoadGenerator.postForm(base.resolve("/quick-add"),
+                quickAddForm(foods.get(ThreadLocalRandom.current().nextInt(foods.size()))));
+            default -> throw new IllegalArgumentException("Unknown endpoint in loadtest.mix: " + name);
+        })));
+
+        LoadGenerator generator = new LoadGenerator(endpoints);
+        List<LatencyReport.Row> rows = generator.run(CONCURRENCY, Duration.ofSeconds(WARMUP_SECONDS),
+            Duration.ofSeconds(DURATION_SECONDS));
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("concurrency", CONCURRENCY);
+        settings.put("warmup_s", WARMUP_SECONDS);
+        settings.put("duration_s", DURATION_SECONDS);
+        settings.put("seed", SEED_DAYS + " days x " + SEED_ENTRIES_PER_DAY + " entries");
+        settings.put("history_days", HISTORY_DAYS);
+        settings.put("mix", generator.mix());
+        settings.put("java", System.getProperty("java.version"));
+        String report = LatencyReport.format(settings, rows);
+
+        Files.createDirectories(REPORT.toAbsolutePath().getParent());
+        Files.writeString(REPORT, report);
+        log.warn("Load test report written to {}\n{}", REPORT.toAbsolutePath(), report);
+        assertThat(rows).allSatisfy(row -> assertThat(row.requests()).as(row.endpoint()).isPositive());
+    }
+
+    private void seed() {
+        Random random = new Random(42);
+        MealType[] mealTypes = MealType.values();
+        LocalDate today = service.today();
+        List<LogEntry> entries = new ArrayList<>(SEED_DAYS * SEED_ENTRIES_PER_DAY);
+        for (int day = 0; day < SEED_DAYS; day++) {
+            for (int i = 0; i < SEED_ENTRIES_PER_DAY; i++) {
+                entries.add(new LogEntry(today.minusDays(day), "Seeded food " + random.nextInt(500),
+                    100 + random.nextInt(600), random.nextInt(40), random.nextInt(80), random.nextInt(30),
+                    mealTypes[i % mealTypes.length]));
+            }
+        }
+        service.addEntries(entries);
+    }
+
+    private static String quickAddForm(FoodItem food) {
+        return "description=" + URLEncoder.encode(food.getDescription(), StandardCharsets.UTF_8)
+            + "&calories=" + food.getCalories() + "&protein=" + food.getProtein() + "&carbs=" + food.getCarbs()
+            + "&fat=" + food.getFat() + "&mealType=" + food.getMealType().name();
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split("=");
+            weights.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,67 @@
+package edu.csu.caloriecounter.repo;
+
+import edu.csu.caloriecounter.domain.DateTotals;
+import edu.csu.caloriecounter.domain.LogEntry;
+import edu.csu.caloriecounter.domain.MealType;
+import edu.csu.caloriecounter.domain.NutrientTotals;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The upsert relies on the MySQL compatibility mode of the configured datasource.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class DailyTotalsRepositoryTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 10, 1);
+
+    @Autowired
+    private DailyTotalsRepository totalsRepo;
+
+    @Autowired
+    private LogEntryRepository entryRepo;
+
+    @Test
+    void applyDeltaUpsertsOneRowPerDateAndMealType() {
+        totalsRepo.applyDelta(DAY, "LUNCH", 300, 12, 30, 10, 1);
+        totalsRepo.applyDelta(DAY, "LUNCH", 200, 18, 0, 12, 1);
+        totalsRepo.applyDelta(DAY, "DINNER", 700, 25, 90, 20, 1);
+        totalsRepo.applyDelta(DAY, "LUNCH", -300, -12, -30, -10, -1);
+
+        assertThat(totalsRepo.count()).isEqualTo(2);
+        assertThat(totalsRepo.sumByDate(DAY)).isEqualTo(new NutrientTotals(900, 43, 90, 32));
+        assertThat(totalsRepo.sumByDate(DAY.plusDays(1))).isEqualTo(NutrientTotals.ZERO);
+    }
+
+    @Test
+    void rangeQueriesSkipDaysWhoseEntriesWereAllRemoved() {
+        totalsRepo.applyDelta(DAY, "LUNCH", 300, 12, 30, 10, 1);
+        totalsRepo.applyDelta(DAY.plusDays(1), "LUNCH", 200, 18, 0, 12, 1);
+        totalsRepo.applyDelta(DAY.plusDays(1), "LUNCH", -200, -18, 0, -12, -1);
+
+        assertThat(totalsRepo.sumByDateBetween(DAY, DAY.plusDays(1)))
+            .extracting(DateTotals::getDate)
+            .containsExactly(DAY);
+    }
+
+    @Test
+    void rebuildFromEntriesMatchesEntrySums() {
+        entryRepo.saveAll(List.of(
+            new LogEntry(DAY, "Eggs", 200, 18, 0, 12, MealType.BREAKFAST),
+            new LogEntry(DAY, "Salad", 300, 12, 30, 10, MealType.LUNCH),
+            new LogEntry(DAY, "Soup", 150, 6, 15, 5, MealType.LUNCH)));
+        entryRepo.flush();
+        totalsRepo.applyDelta(DAY, "LUNCH", 9999, 0, 0, 0, 1);
+
+        totalsRepo.deleteAllInBatch();
+        int rows = totalsRepo.rebuildFromEntries();
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(totalsRepo.sumByDate(DAY)).isEqualTo(entryRepo.sumByDate(DAY));
+    }
+}
@@ -0,0 +1,54 @@
+package edu.csu.caloriecounter.repo;
+
+import edu.csu.caloriecounter.domain.LogEntry;
+import edu.csu.caloriecounter.domain.MealType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class LogEntryRepositoryTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 10, 1);
+
+    @Autowired
+    private LogEntryRepository repo;
+
+    @Test
+    void findFirstByOrderByIdAscReportsWhetherAnythingIsLogged() {
+        assertThat(repo.findFirstByOrderByIdAsc()).isEmpty();
+
+        LogEntry first = repo.save(new LogEntry(DAY, "Eggs", 200, 18, 0, 12, MealType.BREAKFAST));
+        repo.save(new LogEntry(DAY, "Salad", 300, 12, 30, 10, MealType.LUNCH));
+
+        assertThat(repo.findFirstByOrderByIdAsc()).contains(first);
+    }
+
+    @Test
+    void keysetQueriesSeekFromDateAndIdInBothDirections() {
+        List<LogEntry> saved = repo.saveAll(List.of(
+            new LogEntry(DAY, "A", 100, 1, 1, 1, MealType.LUNCH),
+            new LogEntry(DAY, "B", 100, 1, 1, 1, MealType.LUNCH),
+            new LogEntry(DAY.plusDays(1), "C", 100, 1, 1, 1, MealType.LUNCH),
+            new LogEntry(DAY.plusDays(1), "D", 100, 1, 1, 1, MealType.LUNCH),
+            new LogEntry(DAY.plusDays(2), "E", 100, 1, 1, 1, MealType.LUNCH)));
+        LocalDate start = DAY;
+        LocalDate end = DAY.plusDays(2);
+
+        assertThat(repo.findNewest(start, end, Limit.of(2)))
+            .extracting(LogEntry::getDescription).containsExactly("E", "D");
+
+        LogEntry d = saved.get(3);
+        assertThat(repo.findOlderThan(start, end, d.getDate(), d.getId(), Limit.of(2)))
+            .extracting(LogEntry::getDescription).containsExactly("C", "B");
+
+        LogEntry b = saved.get(1);
+        assertThat(repo.findNewerThan(start, end, b.getDate(), b.getId(), Limit.of(2)))
+            .extracting(LogEntry::getDescription).containsExactly("C", "D");
+    }
+}
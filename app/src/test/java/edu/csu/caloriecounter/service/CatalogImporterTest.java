@@ -0,0 +1,181 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.MealType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogImporterTest {
+
+    @Test
+    void csvImportValidatesRowsAndSkipsDuplicates(@TempDir Path tempDir) throws IOException {
+        Path docs = tempDir.resolve("docs");
+        Files.createDirectories(docs);
+        writeWorkbook(docs.resolve("food-catalog.xlsx"));
+
+        String csv = "\uFEFFDescription,Calories,Protein,Carbs,Fat,MealType\r\n"
+            + "\"Beans, baked\",120,6,20,1,lunch\r\n"
+            + "OATMEAL,1,1,1,1,BREAKFAST\r\n"
+            + "Mystery,100,1,1,1,brunch\r\n"
+            + ",100,1,1,1,DINNER\r\n"
+            + "\r\n"
+            + "Granola Bar,190.6,oops,29,7,SNACKS\r\n"
+            + "granola bar,1,1,1,1,SNACKS\r\n";
+
+        withUserDir(tempDir, () -> {
+            FoodCatalogService service = new FoodCatalogService();
+            service.loadCatalog();
+            CatalogImporter importer = new CatalogImporter(service);
+
+            CatalogImporter.Result result = importer.importFoods(stream(csv), CatalogImporter.Format.CSV);
+
+            assertThat(result.rows()).isEqualTo(6);
+            assertThat(result.added()).isEqualTo(2);
+            assertThat(result.duplicates()).isEqualTo(2);
+            assertThat(result.rejected()).isEqualTo(2);
+            assertThat(result.errors()).containsExactly("Row 3: unknown meal type 'brunch'", "Row 4: missing description");
+            assertThat(service.getCatalog()).extracting(FoodItem::getDescription)
+                .containsExactly("Oatmeal", "Beans, baked", "Granola Bar");
+            FoodItem bar = service.getCatalog().get(2);
+            assertThat(bar.getCalories()).isEqualTo(191);
+            assertThat(bar.getProtein()).isZero();
+            assertThat(bar.getMealType()).isEqualTo(MealType.SNACKS);
+            importer.shutdown();
+        });
+    }
+
+    @Test
+    void ndjsonImportCommitsEveryBatch(@TempDir Path tempDir) throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 12_000; i++) {
+            body.append("{\"description\":\"Item ").append(i).append("\",\"calories\":").append(i)
+                .append(",\"MealType\":\"other\"}\n");
+        }
+        body.append("not json\n");
+
+        withUserDir(tempDir, () -> {
+            FoodCatalogService service = new FoodCatalogService();
+            service.loadCatalog();
+            CatalogImporter importer = new CatalogImporter(service);
+
+            CatalogImporter.Result result = importer.importFoods(stream(body.toString()), CatalogImporter.Format.NDJSON);
+
+            assertThat(result.added()).isEqualTo(12_000);
+            assertThat(result.rejected()).isEqualTo(1);
+            assertThat(service.getCatalog()).hasSize(12_000);
+            assertThat(service.getCatalog().get(11_999).getCalories()).isEqualTo(11_999);
+            assertThat(tempDir.resolve("docs/food-catalog.journal")).exists();
+            importer.shutdown();
+        });
+    }
+
+    @Test
+    void csvWithoutCatalogHeaderIsRejected(@TempDir Path tempDir) {
+        withUserDir(tempDir, () -> {
+            CatalogImporter importer = new CatalogImporter(new FoodCatalogService());
+            assertThatThrownBy(() -> importer.importFoods(stream("name,kcal\nApple,95\n"), CatalogImporter.Format.CSV))
+                .isInstanceOf(IllegalArgumentException.class);
+            importer.shutdown();
+        });
+    }
+
+    @Test
+    void csvRecordsSupportQuotesAndEmbeddedLineBreaks() throws IOException {
+        StringReader reader = new StringReader("a,\"b \"\"quoted\"\"\",\"multi\nline\"\nlast,\n");
+        List<List<String>> records = new ArrayList<>();
+        for (CatalogImporter.CsvRecord record = CatalogImporter.readCsvRecord(reader); record != null;
+             record = CatalogImporter.readCsvRecord(reader)) {
+            records.add(record.fields());
+        }
+
+        assertThat(records).containsExactly(List.of("a", "b \"quoted\"", "multi\nline"), List.of("last", ""));
+    }
+
+    @Test
+    void oversizedCsvRecordsAreSkippedWithoutBeingBuffered() throws IOException {
+        String longField = "x".repeat(CatalogImporter.MAX_FIELD_CHARS + 1);
+        StringReader reader = new StringReader(longField + ",1\nnext,row\n\"" + "y".repeat(CatalogImporter.MAX_ROW_CHARS));
+
+        assertThat(CatalogImporter.readCsvRecord(reader).oversized()).isTrue();
+        assertThat(CatalogImporter.readCsvRecord(reader))
+            .isEqualTo(new CatalogImporter.CsvRecord(List.of("next", "row"), false));
+        // An unterminated quote runs to the end of the input, which is then one oversized record.
+        assertThat(CatalogImporter.readCsvRecord(reader).oversized()).isTrue();
+        assertThat(CatalogImporter.readCsvRecord(reader)).isNull();
+    }
+
+    @Test
+    void oversizedNdjsonLinesAreRejected(@TempDir Path tempDir) throws IOException {
+        String body = "{\"description\":\"" + "z".repeat(CatalogImporter.MAX_ROW_CHARS) + "\",\"MealType\":\"LUNCH\"}\n"
+            + "{\"description\":\"Apple\",\"calories\":95,\"MealType\":\"SNACKS\"}\n";
+
+        withUserDir(tempDir, () -> {
+            FoodCatalogService service = new FoodCatalogService();
+            service.loadCatalog();
+            CatalogImporter importer = new CatalogImporter(service, 1);
+
+            CatalogImporter.Result result = importer.importFoods(stream(body), CatalogImporter.Format.NDJSON);
+
+            assertThat(result.rows()).isEqualTo(2);
+            assertThat(result.added()).isEqualTo(1);
+            assertThat(result.rejected()).isEqualTo(1);
+            assertThat(result.errors()).singleElement().asString().startsWith("Row 1: longer than");
+            importer.shutdown();
+        });
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeWorkbook(Path path) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Foods");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Description");
+            header.createCell(1).setCellValue("Calories");
+            header.createCell(2).setCellValue("MealType");
+            Row row = sheet.createRow(1);
+            row.createCell(0).setCellValue("Oatmeal");
+            row.createCell(1).setCellValue(300);
+            row.createCell(2).setCellValue("BREAKFAST");
+            try (OutputStream out = Files.newOutputStream(path)) {
+                workbook.write(out);
+            }
+        }
+    }
+
+    private void withUserDir(Path dir, IoRunnable runnable) {
+        String original = System.getProperty("user.dir");
+        System.setProperty("user.dir", dir.toString());
+        try {
+            runnable.run();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            System.setProperty("user.dir", original);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoRunnable {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,72 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.MealType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarCatalogTest {
+    private final List<FoodItem> foods = List.of(
+        new FoodItem("Oatmeal", 150, 5, 27, 3, MealType.BREAKFAST),
+        new FoodItem("Tuna Salad", 300, 26, 8, 18, MealType.LUNCH),
+        new FoodItem("oatmeal ", 160, 6, 28, 3, MealType.SNACKS),
+        new FoodItem("Oatmeal", 150, 5, 27, 3, MealType.BREAKFAST));
+
+    @Test
+    void rowsRoundTripAndKeysResolveToTheFirstRow() {
+        ColumnarCatalog columns = ColumnarCatalog.of(foods);
+
+        assertThat(columns).containsExactlyElementsOf(foods);
+        assertThat(columns.description(3)).isSameAs(columns.description(0));
+        assertThat(columns.find(CatalogSnapshot.key(" OATMEAL"))).isZero();
+        assertThat(columns.find(CatalogSnapshot.key("Tuna Salad"))).isEqualTo(1);
+        assertThat(columns.find(CatalogSnapshot.key("Pasta"))).isEqualTo(-1);
+    }
+
+    @Test
+    void appendedRowsKeepExistingRowIdsAndKeys() {
+        ColumnarCatalog columns = ColumnarCatalog.of(foods).plus(List.of(
+            new FoodItem("Apple", 95, 0, 25, 0, MealType.SNACKS),
+            new FoodItem("TUNA SALAD", 310, 27, 8, 18, MealType.DINNER)));
+
+        assertThat(columns).hasSize(6);
+        assertThat(columns.get(1).getDescription()).isEqualTo("Tuna Salad");
+        assertThat(columns.find(CatalogSnapshot.key("tuna salad"))).isEqualTo(1);
+        assertThat(columns.find(CatalogSnapshot.key("apple"))).isEqualTo(4);
+        assertThat(columns.find(CatalogSnapshot.key("oatmeal"))).isZero();
+    }
+
+    @Test
+    void columnarSnapshotAnswersLookupsSearchAndFilters() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, foods, true)
+            .plus(List.of(new FoodItem("Egg Whites", 120, 26, 2, 0, MealType.BREAKFAST)));
+        NutrientFilter filter = new NutrientFilter(NutrientFilter.Range.of(null, 200), NutrientFilter.Range.ANY,
+            NutrientFilter.Range.ANY, NutrientFilter.Range.ANY, MealType.BREAKFAST);
+
+        assertThat(snapshot.contains("tuna salad")).isTrue();
+        assertThat(snapshot.get("OATMEAL")).isEqualTo(foods.get(0));
+        assertThat(snapshot.filter(filter, 10)).extracting(FoodItem::getDescription)
+            .containsExactly("Oatmeal", "Oatmeal", "Egg Whites");
+        assertThat(snapshot.getSearchIndex().search("oat", null, 10)).hasSize(3);
+    }
+
+    @Test
+    void columnarSnapshotMergesAppendsWithItsSearchIndex() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, foods, true);
+        List<FoodItem> batch = new ArrayList<>();
+        for (int i = 0; i <= FoodSearchIndex.REBUILD_THRESHOLD; i++) {
+            batch.add(new FoodItem("Imported food " + i, i, 1, 1, 1, MealType.LUNCH));
+        }
+
+        CatalogSnapshot merged = snapshot.plus(batch);
+
+        assertThat(merged.getFoods()).isInstanceOf(ColumnarCatalog.class).hasSize(foods.size() + batch.size());
+        assertThat(merged.contains("imported food 4096")).isTrue();
+        assertThat(merged.getSearchIndex().search("imported food 4096", MealType.LUNCH, 5))
+            .extracting(FoodItem::getDescription).containsExactly("Imported food 4096");
+    }
+}
@@ -0,0 +1,40 @@
+package edu.csu.caloriecounter.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DateCacheTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 10, 1);
+
+    @Test
+    void loadOverlappingAnInvalidationIsNotCached() {
+        DateCache<String> cache = new DateCache<>(4);
+
+        String stale = cache.get(DAY, date -> {
+            // A write to the date commits while this load is still reading the old rows.
+            cache.invalidate(DAY);
+            return "before write";
+        });
+        String fresh = cache.get(DAY, date -> "after write");
+
+        assertThat(stale).isEqualTo("before write");
+        assertThat(fresh).isEqualTo("after write");
+        assertThat(cache.get(DAY, date -> "unused")).isEqualTo("after write");
+        assertThat(cache.stats()).isEqualTo(new DateCache.Stats(1, 2, 0, 1));
+    }
+
+    @Test
+    void invalidateAllDropsEveryDate() {
+        DateCache<String> cache = new DateCache<>(4);
+        cache.get(DAY, date -> "a");
+        cache.get(DAY.plusDays(1), date -> "b");
+
+        cache.invalidateAll();
+
+        assertThat(cache.stats().size()).isZero();
+        assertThat(cache.get(DAY, date -> "c")).isEqualTo("c");
+    }
+}
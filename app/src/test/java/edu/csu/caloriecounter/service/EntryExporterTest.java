@@ -0,0 +1,66 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.LogEntry;
+import edu.csu.caloriecounter.domain.MealType;
+import edu.csu.caloriecounter.repo.LogEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(EntryExporter.class)
+class EntryExporterTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 10, 1);
+
+    @Autowired
+    private EntryExporter exporter;
+
+    @Autowired
+    private LogEntryRepository repo;
+
+    private List<LogEntry> saved;
+
+    @BeforeEach
+    void setUp() {
+        saved = repo.saveAll(List.of(
+            new LogEntry(DAY.plusDays(1), "Pasta, \"fresh\"", 700, 25, 90, 20, MealType.DINNER),
+            new LogEntry(DAY, "Eggs", 200, 18, 0, 12, MealType.BREAKFAST),
+            new LogEntry(DAY.plusDays(5), "Outside the range", 999, 9, 9, 9, MealType.DINNER)));
+    }
+
+    @Test
+    void exportsCsvOldestFirstWithQuotedFields() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exporter.export(DAY, DAY.plusDays(1), EntryExporter.Format.CSV, out);
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\r\n")).containsExactly(
+            "Id,Date,Description,Calories,Protein,Carbs,Fat,MealType",
+            saved.get(1).getId() + ",2024-10-01,Eggs,200,18,0,12,BREAKFAST",
+            saved.get(0).getId() + ",2024-10-02,\"Pasta, \"\"fresh\"\"\",700,25,90,20,DINNER");
+    }
+
+    @Test
+    void exportsOneJsonObjectPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exporter.export(DAY, DAY.plusDays(1), EntryExporter.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"id\":" + saved.get(1).getId(), "\"date\":\"2024-10-01\"",
+            "\"description\":\"Eggs\"", "\"mealType\":\"BREAKFAST\"");
+        assertThat(lines[1]).contains("\"description\":\"Pasta, \\\"fresh\\\"\"", "\"calories\":700");
+    }
+}
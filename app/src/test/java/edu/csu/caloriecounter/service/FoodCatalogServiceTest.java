@@ -0,0 +1,469 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.MealType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FoodCatalogServiceTest {
+
+    @Test
+    void loadCatalogReadsFromDocsResource(@TempDir Path tempDir) throws IOException {
+        Path docs = tempDir.resolve("docs");
+        Files.createDirectories(docs);
+        Path workbookPath = docs.resolve("food-catalog.xlsx");
+        writeSampleWorkbook(workbookPath);
+
+        withUserDir(tempDir, () -> {
+            FoodCatalogService service = new FoodCatalogService();
+            service.loadCatalog();
+
+            List<FoodItem> catalog = service.getCatalog();
+            assertThat(catalog).hasSize(2);
+            assertThat(catalog.get(0).getDescription()).isEqualTo("Oatmeal");
+            assertThat(catalog.get(0).getMealType()).isEqualTo(MealType.BREAKFAST);
+            assertThat(catalog.get(1).getCalories()).isEqualTo(400);
+        });
+    }
+
+    @Test
+    void loadCatalogStreamsRowsWithHeaderOrderAndParseFallbacks(@TempDir Path tempDir) throws IOException {
+        Path docs = tempDir.resolve("docs");
+        Files.createDirectories(docs);
+        Path workbookPath = docs.resolve("food-catalog.xlsx");
+
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Foods");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("mealtype");
+            header.createCell(1).setCellValue("DESCRIPTION");
+            header.createCell(2).setCellValue("Calories");
+            header.createCell(3).setCellValue("Protein");
+            header.createCell(4).setCellValue("Carbs");
+            header.createCell(5).setCellValue("Fat");
+
+            Row text = sheet.createRow(1);
+            text.createCell(0).setCellValue("lunch");
+            text.createCell(1).setCellValue("Wrap");
+            text.createCell(2).setCellValue("350");
+            text.createCell(3).setCellValue("not a number");
+            text.createCell(4).setCellValue(40.6);
+
+            Row unknownMeal = sheet.createRow(2);
+            unknownMeal.createCell(0).setCellValue("brunch");
+            unknownMeal.createCell(1).setCellValue("Mimosa");
+
+            Row blankDescription = sheet.createRow(4);
+            blankDescription.createCell(0).setCellValue("DINNER");
+
+            try (OutputStream out = Files.newOutputStream(workbookPath)) {
+                workbook.write(out);
+            }
+        }
+
+        withUserDir(tempDir, () -> {
+            FoodCatalogService service = new FoodCatalogService();
+            service.loadCatalog();
+
+            List<FoodItem> catalog = service.getCatalog();
+            assertThat(catalog).hasSize(1);
+            FoodItem wrap = catalog.get(0);
+            assertThat(wrap.getDescription()).isEqualTo("Wrap");
+            assertThat(wrap.getMealType()).isEqualTo(MealType.LUNCH);
+            assertThat(wrap.getCalories()).isEqualTo(350);
+            assertThat(wrap.getProtein()).isZero();
+            assertThat(wrap.getCarbs()).isEqualTo(41);
+            assertThat(wrap.getFat()).isZero();
+        });
+    }
+
+    @Test
+    void addToCatalogCreatesWorkbookAndSkipsDuplicates(@TempDir Path tempDir) throws IOException {
+        Path docs = tempDir.resolve("docs");
+        Files.createDirectories(docs);
+        Path workbookPath = docs.resolve("food-catalog.xlsx");
+
+        withUserDir(tempDir, () -> {
+            FoodCatalogService service = new FoodCatalogService();
+            FoodItem soup = new FoodItem("Soup", 250, 12, 28, 8, MealType.LUNCH);
+
+            service.addToCatalog(soup);
+            service.addToCatalog(new FoodItem("soup", 300, 15, 30, 10, MealType.DINNER));
+
+            assertThat(service.getCatalog()).hasSize(1);
+            assertThat(docs.resolve("food-catalog.journal")).exists();
+
+            service.compactJournal();
+
+            assertThat(workbookPath).exists();
+            assertThat(docs.resolve("food-catalog.journal")).doesNotExist();
+
+            try (InputStream in = Files.newInputStream(workbookPath); Workbook workbook = new XSSFWorkbook(in)) {
+                Sheet sheet = workbook.getSheetAt(0);
+                assertThat(sheet.getLastRowNum()).isEqualTo(1); // header + one data row
+
+                Row row = sheet.getRow(1);
+                assertThat(row.getCell(0).getStringCellValue()).isEqualTo("Soup");
+                assertThat(row.getCell(1).getNumericCellValue()).isEqualTo(250);
+                assertThat(row.getCell(5).getStringCellValue()).isEqualTo("LUNCH");
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    @Test
+    void loadCatalogReplaysUncompactedJournalEntries(@TempDir Path tempDir) throws IOException {
+        Path docs = tempDir.resolve("docs");
+        Files.createDirectories(docs);
+        writeSampleWorkbook(docs.resolve("food-catalog.xlsx"));
+
+        withUserDir(tempDir, () -> {
+            FoodCatalogService first = new FoodCatalogService();
+            first.loadCatalog();
+            first.addToCatalog(new FoodItem("Tea\twith milk", 40, 1, 5, 2, MealType.SNACKS));
+
+            FoodCatalogService restarted = new FoodCatalogService();
+            restarted.loadCatalog();
+
+            assertThat(restarted.getCatalog())
+                .extracting(FoodItem::getDescription)
+                .containsExactly("Oatmeal", "Burrito", "Tea\twith milk");
+
+            restarted.compactJournal();
+            FoodCatalogService compacted = new FoodCatalogService();
+            compacted.loadCatalog();
+            assertThat(compacted.getCatalog()).hasSize(3);
+            assertThat(docs.resolve("food-catalog.journal")).doesNotExist();
+        });
+    }
+
+    @Test
+    void readersKeepTheirSnapshotWhileWritersPublishNewOnes(@TempDir Path tempDir) throws IOException {
+        Path docs = tempDir.resolve("docs");
+        Files.createDirectories(docs);
+        writeSampleWorkbook(docs.resolve("food-catalog.xlsx"));
+
+        withUserDir(tempDir, () -> {
+            FoodCatalogService service = new FoodCatalogService();
+            service.loadCatalog();
+            List<FoodItem> before = service.getCatalog();
+
+            service.addToCatalog(new FoodItem("Apple", 95, 0, 25, 0, MealType.SNACKS));
+            service.addToCatalog(new FoodItem("  oatmeal ", 150, 5, 27, 3, MealType.BREAKFAST));
+
+            assertThat(before).hasSize(2);
+            assertThat(service.getCatalog()).hasSize(3);
+            assertThat(service.getCatalog().get(2).getDescription()).isEqualTo("Apple");
+        });
+    }
+
+    @Test
+    void loadAndAppendArePublishedAsMetrics(@TempDir Path tempDir) throws IOException {
+        Path docs = tempDir.resolve("docs");
+        Files.createDirectories(docs);
+        writeSampleWorkbook(docs.resolve("food-catalog.xlsx"));
+
+        withUserDir(tempDir, () -> {
+            SimpleMeterRegistry meters = new SimpleMeterRegistry();
+            FoodCatalogService service = new FoodCatalogService(List.of(), meters);
+            service.loadCatalog();
+            service.addToCatalog(new FoodItem("Apple", 95, 0, 25, 0, MealType.SNACKS));
+            service.addToCatalog(new FoodItem("apple", 95, 0, 25, 0, MealType.SNACKS));
+
+            assertThat(meters.get("catalog.load").tag("trigger", "startup").timer().count()).isEqualTo(1);
+            assertThat(meters.get("catalog.rows.parsed").counter().count()).isEqualTo(2);
+            assertThat(meters.get("catalog.append").timer().count()).isEqualTo(2);
+            assertThat(meters.get("catalog.lock.held").timer().count()).isGreaterThanOrEqualTo(3);
+            assertThat(meters.get("catalog.size").gauge().value()).isEqualTo(3);
+        });
+    }
+
+    @Test
+    void payloadIsReusedUntilCatalogChanges(@TempDir Path tempDir) throws IOException {
+        Path docs = tempDir.resolve("docs");
+        Files.createDirectories(docs);
+        writeSampleWorkbook(docs.resolve("food-catalog.xlsx"));
+
+        withUserDir(tempDir, () -> {
+            FoodCatalogService service = new FoodCatalogService();
+            service.loadCatalog();
+
+            CatalogPayload first = service.getPayload();
+            assertThat(service.getPayload()).isSameAs(first);
+            assertThat(new String(first.getJson(), StandardCharsets.UTF_8)).contains("\"Oatmeal\"");
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(first.getGzip()))) {
+                assertThat(in.readAllBytes()).isEqualTo(first.getJson());
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+
+            service.addToCatalog(new FoodItem("Apple", 95, 0, 25, 0, MealType.SNACKS));
+
+            CatalogPayload second = service.getPayload();
+            assertThat(second.getVersion()).isGreaterThan(first.getVersion());
+            assertThat(second.getEtag(false)).isNotEqualTo(first.getEtag(false));
+            assertThat(second.getEtag(true)).isNotEqualTo(second.getEtag(false));
+        });
+    }
+
+    @Test
+    void payloadEtagDependsOnContentsNotVersion() {
+        List<FoodItem> foods = List.of(new FoodItem("Apple", 95, 0, 25, 0, MealType.SNACKS));
+
+        CatalogPayload first = CatalogPayload.of(1, foods);
+        CatalogPayload later = CatalogPayload.of(7, List.of(new FoodItem("Apple", 95, 0, 25, 0, MealType.SNACKS)));
+
+        assertThat(later.getEtag(false)).isEqualTo(first.getEtag(false));
+        assertThat(later.getEtag(true)).isEqualTo(first.getEtag(true));
+        assertThat(later.getJson()).isEqualTo(first.getJson());
+        assertThat(CatalogPayload.of(7, List.of()).getEtag(false)).isNotEqualTo(first.getEtag(false));
+    }
+
+    @Test
+    void compactionIsNotMistakenForAnExternalEdit(@TempDir Path tempDir) throws IOException {
+        Path docs = tempDir.resolve("docs");
+        Files.createDirectories(docs);
+        writeSampleWorkbook(docs.resolve("food-catalog.xlsx"));
+
+        withUserDir(tempDir, () -> {
+            SimpleMeterRegistry meters = new SimpleMeterRegistry();
+            FoodCatalogService service = new FoodCatalogService(List.of(), meters);
+            service.loadCatalog();
+            service.addToCatalog(new FoodItem("Apple", 95, 0, 25, 0, MealType.SNACKS));
+            service.compactJournal();
+            long version = service.getVersion();
+
+            assertThat(service.reloadCatalog().isEmpty()).isTrue();
+            assertThat(service.getVersion()).isEqualTo(version);
+            // The workbook rewritten by the compaction is not parsed again.
+            assertThat(meters.find("catalog.load").tag("trigger", "reload").timer()).isNull();
+        });
+    }
+
+    @Test
+    void compactionDoesNotHideAnEditMadeBeforeIt(@TempDir Path tempDir) throws IOException {
+        Path docs = tempDir.resolve("docs");
+        Files.createDirectories(docs);
+        Path workbookPath = docs.resolve("food-catalog.xlsx");
+        writeSampleWorkbook(workbookPath);
+
+        withUserDir(tempDir, () -> {
+            FoodCatalogService service = new FoodCatalogService();
+            service.loadCatalog();
+            service.addToCatalog(new FoodItem("Apple", 95, 0, 25, 0, MealType.SNACKS));
+            try (Workbook workbook = new XSSFWorkbook()) {
+                addFoodSheet(workbook, "Foods", new String[] {"Oatmeal", "300", "BREAKFAST"},
+                    new String[] {"Garden Salad", "120", "LUNCH"});
+                try (OutputStream out = Files.newOutputStream(workbookPath)) {
+                    workbook.write(out);
+                }
+                Files.setLastModifiedTime(workbookPath, FileTime.fromMillis(System.currentTimeMillis() + 1000));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+
+            // The watcher has not reloaded the edit yet when the journal is compacted into the workbook.
+            service.compactJournal();
+
+            CatalogDiff diff = service.reloadCatalog();
+            assertThat(diff.getAdded()).extracting(FoodItem::getDescription).containsExactly("Garden Salad");
+            assertThat(diff.getRemoved()).extracting(FoodItem::getDescription).containsExactly("Burrito");
+            assertThat(service.getCatalog()).extracting(FoodItem::getDescription)
+                .containsExactly("Oatmeal", "Garden Salad", "Apple");
+        });
+    }
+
+    @Test
+    void reloadCatalogPublishesEditedWorkbookAndKeepsPendingItems(@TempDir Path tempDir) throws IOException {
+        Path docs = tempDir.resolve("docs");
+        Files.createDirectories(docs);
+        Path workbookPath = docs.resolve("food-catalog.xlsx");
+        writeSampleWorkbook(workbookPath);
+
+        withUserDir(tempDir, () -> {
+            FoodCatalogService service = new FoodCatalogService();
+            service.loadCatalog();
+            service.addToCatalog(new FoodItem("Apple", 95, 0, 25, 0, MealType.SNACKS));
+            List<FoodItem> before = service.getCatalog();
+            long version = service.getVersion();
+
+            assertThat(service.reloadCatalog().isEmpty()).isTrue();
+            assertThat(service.getVersion()).isEqualTo(version);
+
+            try (Workbook workbook = new XSSFWorkbook()) {
+                Sheet sheet = workbook.createSheet("Foods");
+                Row header = sheet.createRow(0);
+                header.createCell(0).setCellValue("Description");
+                header.createCell(1).setCellValue("Calories");
+                header.createCell(2).setCellValue("MealType");
+                Row oatmeal = sheet.createRow(1);
+                oatmeal.createCell(0).setCellValue("Oatmeal");
+                oatmeal.createCell(1).setCellValue(250);
+                oatmeal.createCell(2).setCellValue("BREAKFAST");
+                Row salad = sheet.createRow(2);
+                salad.createCell(0).setCellValue("Garden Salad");
+                salad.createCell(1).setCellValue(120);
+                salad.createCell(2).setCellValue("LUNCH");
+                try (OutputStream out = Files.newOutputStream(workbookPath)) {
+                    workbook.write(out);
+                }
+                Files.setLastModifiedTime(workbookPath, FileTime.fromMillis(System.currentTimeMillis() + 1000));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+
+            CatalogDiff diff = service.reloadCatalog();
+            assertThat(diff.getAdded()).extracting(FoodItem::getDescription).containsExactly("Garden Salad");
+            assertThat(diff.getRemoved()).extracting(FoodItem::getDescription).containsExactly("Burrito");
+            assertThat(diff.getChanged()).extracting(change -> change.current().getCalories()).containsExactly(250);
+
+            assertThat(service.getVersion()).isGreaterThan(version);
+            assertThat(service.getCatalog()).extracting(FoodItem::getDescription)
+                .containsExactly("Oatmeal", "Garden Salad", "Apple");
+            assertThat(service.search("burr", null, 10)).isEmpty();
+            assertThat(service.search("salad", null, 10)).extracting(FoodItem::getDescription).containsExactly("Garden Salad");
+            assertThat(before).extracting(FoodItem::getDescription).containsExactly("Oatmeal", "Burrito", "Apple");
+        });
+    }
+
+    @Test
+    void loadCatalogUsesBinaryCacheOnlyWhileWorkbookIsUnchanged(@TempDir Path tempDir) throws IOException {
+        Path docs = tempDir.resolve("docs");
+        Files.createDirectories(docs);
+        Path workbookPath = docs.resolve("food-catalog.xlsx");
+        Path cachePath = docs.resolve("food-catalog.bin");
+        writeSampleWorkbook(workbookPath);
+
+        withUserDir(tempDir, () -> {
+            FoodCatalogService first = new FoodCatalogService();
+            first.loadCatalog();
+            assertThat(first.getCatalog()).hasSize(2);
+            assertThat(cachePath).exists();
+
+            // A cache entry for the same workbook bytes is trusted without parsing the workbook.
+            try {
+                new CatalogCache(cachePath).write(Files.size(workbookPath), CatalogCache.digest(workbookPath),
+                    List.of(new FoodItem("Cached", 1, 2, 3, 4, MealType.SNACKS)));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            FoodCatalogService cached = new FoodCatalogService();
+            cached.loadCatalog();
+            assertThat(cached.getCatalog()).extracting(FoodItem::getDescription).containsExactly("Cached");
+
+            cached.addToCatalog(new FoodItem("Apple", 95, 0, 25, 0, MealType.SNACKS));
+            cached.compactJournal();
+            FoodCatalogService reparsed = new FoodCatalogService();
+            reparsed.loadCatalog();
+            assertThat(reparsed.getCatalog()).extracting(FoodItem::getDescription)
+                .containsExactly("Oatmeal", "Burrito", "Apple");
+        });
+    }
+
+    @Test
+    void loadCatalogMergesEverySheetOfEveryWorkbookKeepingFirstDuplicate(@TempDir Path tempDir) throws IOException {
+        Path docs = tempDir.resolve("docs");
+        Files.createDirectories(docs);
+        writeSampleWorkbook(docs.resolve("food-catalog.xlsx"));
+        Path vendors = tempDir.resolve("vendors");
+        Files.createDirectories(vendors);
+
+        try (Workbook workbook = new XSSFWorkbook()) {
+            addFoodSheet(workbook, "Breakfast", new String[] {"OATMEAL", "999", "BREAKFAST"},
+                new String[] {"Bagel", "250", "BREAKFAST"});
+            workbook.createSheet("Notes").createRow(0).createCell(0).setCellValue("Prices change monthly");
+            addFoodSheet(workbook, "Snacks", new String[] {"Trail Mix", "180", "SNACKS"},
+                new String[] {"bagel ", "1", "SNACKS"});
+            try (OutputStream out = Files.newOutputStream(vendors.resolve("acme.xlsx"))) {
+                workbook.write(out);
+            }
+        }
+
+        withUserDir(tempDir, () -> {
+            FoodCatalogService service = new FoodCatalogService(List.of("vendors/acme.xlsx", "vendors/missing.xlsx"));
+            service.loadCatalog();
+
+            assertThat(service.getCatalog()).extracting(FoodItem::getDescription)
+                .containsExactly("Oatmeal", "Burrito", "Bagel", "Trail Mix");
+            assertThat(service.getCatalog().get(0).getCalories()).isEqualTo(300);
+            assertThat(service.getWorkbookPaths()).contains(vendors.resolve("acme.xlsx"));
+            assertThat(vendors.resolve("acme.bin")).exists();
+        });
+    }
+
+    private void addFoodSheet(Workbook workbook, String name, String[]... rows) {
+        Sheet sheet = workbook.createSheet(name);
+        Row header = sheet.createRow(0);
+        header.createCell(0).setCellValue("Description");
+        header.createCell(1).setCellValue("Calories");
+        header.createCell(2).setCellValue("MealType");
+        for (int i = 0; i < rows.length; i++) {
+            Row row = sheet.createRow(i + 1);
+            for (int column = 0; column < rows[i].length; column++) {
+                row.createCell(column).setCellValue(rows[i][column]);
+            }
+        }
+    }
+
+    private void writeSampleWorkbook(Path path) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Foods");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Description");
+            header.createCell(1).setCellValue("Calories");
+            header.createCell(2).setCellValue("Protein");
+            header.createCell(3).setCellValue("Carbs");
+            header.createCell(4).setCellValue("Fat");
+            header.createCell(5).setCellValue("MealType");
+
+            Row row1 = sheet.createRow(1);
+            row1.createCell(0).setCellValue("Oatmeal");
+            row1.createCell(1).setCellValue(300);
+            row1.createCell(2).setCellValue(10);
+            row1.createCell(3).setCellValue(55);
+            row1.createCell(4).setCellValue(5);
+            row1.createCell(5).setCellValue("BREAKFAST");
+
+            Row row2 = sheet.createRow(2);
+            row2.createCell(0).setCellValue("Burrito");
+            row2.createCell(1).setCellValue(400);
+            row2.createCell(2).setCellValue(20);
+            row2.createCell(3).setCellValue(45);
+            row2.createCell(4).setCellValue(12);
+            row2.createCell(5).setCellValue("DINNER");
+
+            try (OutputStream out = Files.newOutputStream(path)) {
+                workbook.write(out);
+            }
+        }
+    }
+
+    private void withUserDir(Path dir, Runnable runnable) {
+        String original = System.getProperty("user.dir");
+        System.setProperty("user.dir", dir.toString());
+        try {
+            runnable.run();
+        } finally {
+            System.setProperty("user.dir", original);
+        }
+    }
+}
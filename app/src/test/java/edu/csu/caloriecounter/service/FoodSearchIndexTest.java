@@ -0,0 +1,83 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.MealType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FoodSearchIndexTest {
+    private final FoodSearchIndex index = FoodSearchIndex.build(List.of(
+        food("Grilled Chicken Breast", MealType.DINNER),
+        food("Chicken Noodle Soup", MealType.LUNCH),
+        food("Chickpea Salad", MealType.LUNCH),
+        food("Oatmeal", MealType.BREAKFAST),
+        food("Bean Burrito", MealType.DINNER)
+    ));
+
+    @Test
+    void ranksDescriptionPrefixBeforeWordPrefixBeforeSubstring() {
+        assertThat(descriptions(index.search("chick", null, 10)))
+            .containsExactly("Chicken Noodle Soup", "Chickpea Salad", "Grilled Chicken Breast");
+
+        assertThat(descriptions(index.search("urrit", null, 10))).containsExactly("Bean Burrito");
+    }
+
+    @Test
+    void matchesEveryTokenAsWordPrefix() {
+        assertThat(descriptions(index.search("chi bre", null, 10))).containsExactly("Grilled Chicken Breast");
+        assertThat(index.search("chicken salad", null, 10)).isEmpty();
+    }
+
+    @Test
+    void filtersByMealTypeAndHonoursLimit() {
+        assertThat(descriptions(index.search("chick", MealType.LUNCH, 10)))
+            .containsExactly("Chicken Noodle Soup", "Chickpea Salad");
+        assertThat(index.search("", null, 2)).hasSize(2);
+        assertThat(index.search("oat", MealType.SNACKS, 10)).isEmpty();
+    }
+
+    @Test
+    void appendedItemsAreSearchableWithoutRebuild() {
+        FoodSearchIndex next = index.plus(List.of(food("Chicken Wrap", MealType.SNACKS)));
+
+        assertThat(descriptions(next.search("chicken w", null, 10))).containsExactly("Chicken Wrap");
+        assertThat(descriptions(next.search("wrap", MealType.SNACKS, 10))).containsExactly("Chicken Wrap");
+        assertThat(index.search("wrap", null, 10)).isEmpty();
+    }
+
+    @Test
+    void reloadDiffIsAppliedWithoutRebuild() {
+        List<FoodItem> original = List.of(
+            food("Grilled Chicken Breast", MealType.DINNER),
+            food("Chickpea Salad", MealType.LUNCH),
+            food("Oatmeal", MealType.BREAKFAST));
+        CatalogSnapshot before = CatalogSnapshot.of(1, original);
+        List<FoodItem> edited = List.of(
+            food("Grilled Chicken Breast", MealType.LUNCH),
+            food("Oatmeal", MealType.BREAKFAST),
+            food("Chicken Wrap", MealType.SNACKS));
+
+        CatalogDiff diff = CatalogDiff.between(before, edited);
+        assertThat(descriptions(diff.getAdded())).containsExactly("Chicken Wrap");
+        assertThat(descriptions(diff.getRemoved())).containsExactly("Chickpea Salad");
+        assertThat(diff.getChanged()).extracting(change -> change.current().getMealType()).containsExactly(MealType.LUNCH);
+
+        FoodSearchIndex next = before.reload(edited, diff).getSearchIndex();
+        assertThat(descriptions(next.search("chick", null, 10))).containsExactly("Chicken Wrap", "Grilled Chicken Breast");
+        assertThat(next.search("chick", MealType.DINNER, 10)).isEmpty();
+        assertThat(descriptions(next.search("chick", MealType.LUNCH, 10))).containsExactly("Grilled Chicken Breast");
+        assertThat(descriptions(before.getSearchIndex().search("chickpea", null, 10))).containsExactly("Chickpea Salad");
+        assertThat(CatalogDiff.between(before, original).isEmpty()).isTrue();
+    }
+
+    private static FoodItem food(String description, MealType mealType) {
+        return new FoodItem(description, 100, 1, 1, 1, mealType);
+    }
+
+    private static List<String> descriptions(List<FoodItem> items) {
+        return items.stream().map(FoodItem::getDescription).toList();
+    }
+}
@@ -0,0 +1,94 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.config.ClockConfig;
+import edu.csu.caloriecounter.domain.LogEntry;
+import edu.csu.caloriecounter.domain.MealType;
+import edu.csu.caloriecounter.repo.DailyTotalsRepository;
+import edu.csu.caloriecounter.repo.LogEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the insert rate of one transaction per entry (how entries were seeded before the bulk
+ * path existed) with {@link LogService#addEntries(List)}. Opt-in, as it is a measurement rather than a
+ * check: {@code mvn -Dtest=LogEntryBatchBenchmarkTest -Dbenchmark=true test}.
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({LogService.class, RollupEngine.class, ClockConfig.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LogEntryBatchBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(LogEntryBatchBenchmarkTest.class);
+    private static final int SINGLE_ROWS = 2_000;
+    private static final int BATCH_ROWS = 20_000;
+
+    @Autowired
+    private LogService service;
+
+    @Autowired
+    private LogEntryRepository repo;
+
+    @Autowired
+    private DailyTotalsRepository totalsRepo;
+
+    @AfterEach
+    void cleanUp() {
+        repo.deleteAllInBatch();
+        totalsRepo.deleteAllInBatch();
+    }
+
+    @Test
+    void batchedInsertsOutpaceOneTransactionPerEntry() {
+        // Warm up the persistence and JDBC paths before timing either approach.
+        service.addEntries(entries(1_000));
+        entries(200).forEach(service::addEntry);
+        cleanUp();
+
+        List<LogEntry> single = entries(SINGLE_ROWS);
+        long start = System.nanoTime();
+        single.forEach(service::addEntry);
+        double singleRate = rate(SINGLE_ROWS, System.nanoTime() - start);
+
+        List<LogEntry> batch = entries(BATCH_ROWS);
+        start = System.nanoTime();
+        service.addEntries(batch);
+        double batchRate = rate(BATCH_ROWS, System.nanoTime() - start);
+
+        log.info("One transaction per entry: {} rows/s; addEntries: {} rows/s ({}x)",
+            Math.round(singleRate), Math.round(batchRate), String.format("%.1f", batchRate / singleRate));
+        assertThat(repo.count()).isEqualTo(SINGLE_ROWS + BATCH_ROWS);
+        assertThat(batchRate).isGreaterThan(singleRate);
+    }
+
+    private static List<LogEntry> entries(int count) {
+        MealType[] mealTypes = MealType.values();
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        List<LogEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new LogEntry(start.plusDays(i % 365), "Food " + i, 100 + i % 500, i % 40, i % 60, i % 30,
+                mealTypes[i % mealTypes.length]));
+        }
+        return entries;
+    }
+
+    private static double rate(int rows, long nanos) {
+        return rows * 1e9 / nanos;
+    }
+}
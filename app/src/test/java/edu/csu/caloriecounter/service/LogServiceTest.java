@@ -0,0 +1,373 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.LogEntry;
+import edu.csu.caloriecounter.domain.MealType;
+import edu.csu.caloriecounter.domain.NutrientTotals;
+import edu.csu.caloriecounter.repo.DailyTotalsRepository;
+import edu.csu.caloriecounter.repo.LogEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class LogServiceTest {
+    private LogEntryRepository repo;
+    private DailyTotalsRepository totalsRepo;
+    private RollupEngine rollups;
+    private SimpleMeterRegistry meters;
+    private LogService service;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(LogEntryRepository.class);
+        totalsRepo = mock(DailyTotalsRepository.class);
+        rollups = mock(RollupEngine.class);
+        meters = new SimpleMeterRegistry();
+        when(repo.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        service = new LogService(repo, totalsRepo, rollups, mock(EntityManager.class), Clock.systemDefaultZone(), meters, 31);
+    }
+
+    @Test
+    void totalsForDateReadsMaterializedTotals() {
+        LocalDate date = LocalDate.of(2024, 10, 1);
+        when(totalsRepo.sumByDate(date)).thenReturn(new NutrientTotals(500, 30, 30, 22));
+
+        NutrientTotals totals = service.totalsForDate(date);
+
+        assertThat(totals).isEqualTo(new NutrientTotals(500, 30, 30, 22));
+        verify(repo, never()).findByDate(any());
+    }
+
+    @Test
+    void totalsForDateReturnsZerosWhenEmpty() {
+        LocalDate date = LocalDate.of(2024, 10, 2);
+        when(totalsRepo.sumByDate(date)).thenReturn(null);
+
+        NutrientTotals totals = service.totalsForDate(date);
+
+        assertThat(totals.getCalories()).isZero();
+        assertThat(totals.getProtein()).isZero();
+        assertThat(totals.getCarbs()).isZero();
+        assertThat(totals.getFat()).isZero();
+    }
+
+    @Test
+    void dailyTotalsCoversTheLastNDays() {
+        LocalDate today = LocalDate.now();
+        when(totalsRepo.sumByDateBetween(any(), any())).thenReturn(List.of());
+
+        service.dailyTotals(7);
+
+        verify(totalsRepo).sumByDateBetween(today.minusDays(6), today);
+    }
+
+    @Test
+    void lastNDaysUsesAtLeastOneDay() {
+        LocalDate today = LocalDate.now();
+        when(repo.findByDateBetweenOrderByDateDesc(any(), any())).thenReturn(List.of());
+
+        service.lastNDays(0);
+
+        ArgumentCaptor<LocalDate> startCaptor = ArgumentCaptor.forClass(LocalDate.class);
+        ArgumentCaptor<LocalDate> endCaptor = ArgumentCaptor.forClass(LocalDate.class);
+        verify(repo).findByDateBetweenOrderByDateDesc(startCaptor.capture(), endCaptor.capture());
+
+        assertThat(endCaptor.getValue()).isEqualTo(today);
+        assertThat(startCaptor.getValue()).isEqualTo(today);
+    }
+
+    @Test
+    void addQuickNormalizesValidMealType() {
+        ArgumentCaptor<LogEntry> captor = ArgumentCaptor.forClass(LogEntry.class);
+
+        service.addQuick("Toast", 150, 6, 20, 4, "breakfast");
+
+        verify(repo).save(captor.capture());
+        LogEntry saved = captor.getValue();
+        assertThat(saved.getDescription()).isEqualTo("Toast");
+        assertThat(saved.getMealType()).isEqualTo(MealType.BREAKFAST);
+        assertThat(saved.getDate()).isEqualTo(LocalDate.now());
+    }
+
+    @Test
+    void addQuickFallsBackToSnacksOnInvalidMealType() {
+        ArgumentCaptor<LogEntry> captor = ArgumentCaptor.forClass(LogEntry.class);
+
+        service.addQuick("Chips", 220, 3, 24, 14, "invalid");
+
+        verify(repo).save(captor.capture());
+        assertThat(captor.getValue().getMealType()).isEqualTo(MealType.SNACKS);
+    }
+
+    @Test
+    void addQuickAddsEntryToDailyTotals() {
+        service.addQuick("Toast", 150, 6, 20, 4, "breakfast");
+
+        verify(totalsRepo).applyDelta(LocalDate.now(), "BREAKFAST", 150, 6, 20, 4, 1);
+        verify(rollups).apply(List.of(new TotalsDelta(LocalDate.now(), MealType.BREAKFAST, 150, 6, 20, 4, 1)));
+    }
+
+    @Test
+    void addEntriesAppliesOneTotalsDeltaPerDateAndMealType() {
+        LocalDate date = LocalDate.of(2024, 10, 1);
+        List<LogEntry> entries = List.of(
+            new LogEntry(date, "Eggs", 200, 18, 0, 12, MealType.BREAKFAST),
+            new LogEntry(date, "Toast", 150, 6, 20, 4, MealType.BREAKFAST),
+            new LogEntry(date, "Salad", 300, 12, 30, 10, MealType.LUNCH));
+
+        assertThat(service.addEntries(entries)).isEqualTo(3);
+
+        verify(repo).saveAll(entries);
+        verify(totalsRepo).applyDelta(date, "BREAKFAST", 350, 24, 20, 16, 2);
+        verify(totalsRepo).applyDelta(date, "LUNCH", 300, 12, 30, 10, 1);
+        verifyNoMoreInteractions(totalsRepo);
+        verify(rollups).apply(argThat(deltas -> deltas.size() == 2));
+    }
+
+    @Test
+    void updateEntryMovesContributionBetweenDailyTotals() {
+        LocalDate date = LocalDate.of(2024, 10, 1);
+        LogEntry existing = new LogEntry(date, "Eggs", 200, 18, 0, 12, MealType.BREAKFAST);
+        when(repo.findById(7L)).thenReturn(Optional.of(existing));
+
+        Optional<LogEntry> updated = service.updateEntry(7L,
+            new LogEntry(date.plusDays(1), "Omelette", 300, 20, 2, 22, MealType.LUNCH));
+
+        assertThat(updated).containsSame(existing);
+        assertThat(existing.getDescription()).isEqualTo("Omelette");
+        verify(totalsRepo).applyDelta(date, "BREAKFAST", -200, -18, 0, -12, -1);
+        verify(totalsRepo).applyDelta(date.plusDays(1), "LUNCH", 300, 20, 2, 22, 1);
+    }
+
+    @Test
+    void deleteEntryRemovesContributionFromDailyTotals() {
+        LocalDate date = LocalDate.of(2024, 10, 1);
+        LogEntry existing = new LogEntry(date, "Salad", 300, 12, 30, 10, MealType.LUNCH);
+        when(repo.findById(3L)).thenReturn(Optional.of(existing));
+
+        assertThat(service.deleteEntry(3L)).isTrue();
+        assertThat(service.deleteEntry(4L)).isFalse();
+
+        verify(repo).delete(existing);
+        verify(totalsRepo).applyDelta(date, "LUNCH", -300, -12, -30, -10, -1);
+        verifyNoMoreInteractions(totalsRepo);
+    }
+
+    @Test
+    void totalsForDateIsCachedUntilAWriteTouchesTheDate() {
+        LocalDate today = LocalDate.now();
+        when(totalsRepo.sumByDate(today)).thenReturn(new NutrientTotals(150, 6, 20, 4));
+
+        service.totalsForDate(today);
+        service.totalsForDate(today);
+        verify(totalsRepo, times(1)).sumByDate(today);
+
+        service.addQuick("Toast", 150, 6, 20, 4, "breakfast");
+        service.totalsForDate(today);
+        verify(totalsRepo, times(2)).sumByDate(today);
+
+        assertThat(service.cacheStats().get("totals"))
+            .isEqualTo(new DateCache.Stats(1, 2, 0, 1));
+    }
+
+    @Test
+    void repositoryReadsAreTimedPerMethodAndCacheHitsAreNot() {
+        LocalDate today = LocalDate.now();
+        when(totalsRepo.sumByDate(today)).thenReturn(new NutrientTotals(100, 1, 2, 3));
+        when(repo.findByDateBetweenOrderByDateDesc(any(), any())).thenReturn(List.of(
+            new LogEntry(today, "Eggs", 200, 18, 0, 12, MealType.BREAKFAST),
+            new LogEntry(today, "Toast", 150, 6, 20, 4, MealType.BREAKFAST)));
+
+        service.totalsForDate(today);
+        service.totalsForDate(today);
+        service.lastNDays(7);
+
+        assertThat(meters.get("log.query").tag("method", "totalsForDate").timer().count()).isEqualTo(1);
+        assertThat(meters.get("log.query.rows").tag("method", "lastNDays").summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void writesToOtherDatesKeepTodayCached() {
+        LocalDate today = LocalDate.now();
+        when(repo.findByDate(today)).thenReturn(List.of());
+
+        service.todayEntries();
+        service.addEntry(new LogEntry(today.minusDays(3), "Pasta", 700, 25, 90, 20, MealType.DINNER));
+        service.todayEntries();
+
+        verify(repo, times(1)).findByDate(today);
+    }
+
+    @Test
+    void todayRollsOverAtMidnight() {
+        Clock clock = mock(Clock.class);
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(clock.instant()).thenReturn(Instant.parse("2024-10-01T23:59:59Z"));
+        LogService service = new LogService(repo, totalsRepo, rollups, mock(EntityManager.class), clock, new SimpleMeterRegistry(), 31);
+        LocalDate day = LocalDate.of(2024, 10, 1);
+        when(repo.findByDate(day)).thenReturn(List.of(
+            new LogEntry(day, "Eggs", 200, 18, 0, 12, MealType.BREAKFAST),
+            new LogEntry(day, "Salad", 300, 12, 30, 10, MealType.LUNCH)));
+        when(repo.findByDate(day.plusDays(1))).thenReturn(List.of());
+
+        assertThat(service.todayTotals()).isEqualTo(new NutrientTotals(500, 30, 30, 22));
+        when(clock.instant()).thenReturn(Instant.parse("2024-10-02T00:00:01Z"));
+
+        assertThat(service.todayTotals()).isEqualTo(NutrientTotals.ZERO);
+    }
+
+    @Test
+    void cacheEvictsLeastRecentlyReadDates() {
+        LogService service = new LogService(repo, totalsRepo, rollups, mock(EntityManager.class), Clock.systemDefaultZone(), new SimpleMeterRegistry(), 2);
+        LocalDate day = LocalDate.of(2024, 10, 1);
+
+        service.totalsForDate(day);
+        service.totalsForDate(day.plusDays(1));
+        service.totalsForDate(day);
+        service.totalsForDate(day.plusDays(2));
+        service.totalsForDate(day);
+
+        verify(totalsRepo, times(1)).sumByDate(day);
+        assertThat(service.cacheStats().get("totals").evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void historyPageReturnsNextCursorWhenMoreEntriesExist() {
+        LocalDate today = LocalDate.now();
+        when(repo.findNewest(eq(today.minusDays(6)), eq(today), any())).thenReturn(List.of(
+            entry(today, 30), entry(today, 20), entry(today.minusDays(1), 10)));
+
+        EntryPage page = service.historyPage(7, null, null, 2);
+
+        assertThat(page.getEntries()).extracting(LogEntry::getId).containsExactly(30L, 20L);
+        assertThat(page.getPreviousCursor()).isNull();
+        assertThat(page.getNextCursor()).isEqualTo(today + "_20");
+    }
+
+    @Test
+    void historyPageSeeksFromCursorInBothDirections() {
+        LocalDate today = LocalDate.now();
+        when(repo.findOlderThan(any(), any(), eq(today), eq(20L), any())).thenReturn(List.of(entry(today, 10)));
+        when(repo.findNewerThan(any(), any(), eq(today), eq(10L), any())).thenReturn(List.of(
+            entry(today, 20), entry(today, 30), entry(today, 40)));
+
+        EntryPage older = service.historyPage(7, today + "_20", null, 2);
+        EntryPage newer = service.historyPage(7, null, older.getPreviousCursor(), 2);
+
+        assertThat(older.getEntries()).extracting(LogEntry::getId).containsExactly(10L);
+        assertThat(older.getNextCursor()).isNull();
+        assertThat(newer.getEntries()).extracting(LogEntry::getId).containsExactly(30L, 20L);
+        assertThat(newer.getPreviousCursor()).isEqualTo(today + "_30");
+        assertThat(newer.getNextCursor()).isEqualTo(today + "_20");
+    }
+
+    @Test
+    void historyPageRejectsBothCursorsAndClampsItsWindow() {
+        assertThatThrownBy(() -> service.historyPage(7, "2024-10-01_5", "2024-10-01_9", 10))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        LocalDate today = LocalDate.now();
+        when(repo.findNewest(any(), any(), any())).thenReturn(List.of());
+        service.historyPage(10_000, null, null, 10);
+        verify(repo).findNewest(today.minusDays(LogService.MAX_HISTORY_DAYS - 1), today, Limit.of(11));
+        assertThat(LogService.pageSize(0)).isEqualTo(1);
+        assertThat(LogService.pageSize(1_000)).isEqualTo(LogService.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void historyPageRejectsMalformedCursor() {
+        assertThatThrownBy(() -> service.historyPage(7, "yesterday", null, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static LogEntry entry(LocalDate date, long id) {
+        LogEntry entry = new LogEntry(date, "Food " + id, 100, 1, 1, 1, MealType.LUNCH);
+        ReflectionTestUtils.setField(entry, "id", id);
+        return entry;
+    }
+
+    @Test
+    void todaySummaryReadsEntriesAndTotalsFromOneQuery() {
+        LocalDate today = LocalDate.now();
+        when(repo.findByDate(today)).thenReturn(List.of(
+            new LogEntry(today, "Eggs", 200, 18, 0, 12, MealType.BREAKFAST),
+            new LogEntry(today, "Salad", 300, 12, 30, 10, MealType.LUNCH)));
+
+        DaySummary summary = service.todaySummary();
+
+        assertThat(summary.getEntries()).extracting(LogEntry::getDescription).containsExactly("Eggs", "Salad");
+        assertThat(summary.getTotals()).isEqualTo(new NutrientTotals(500, 30, 30, 22));
+        assertThat(service.todayEntries()).isSameAs(summary.getEntries());
+        verify(repo, times(1)).findByDate(today);
+        verifyNoInteractions(totalsRepo);
+    }
+
+    @Test
+    void daySummaryIsCachedPerDate() {
+        LocalDate date = LocalDate.of(2024, 10, 1);
+        when(repo.findByDate(date)).thenReturn(List.of(new LogEntry(date, "Oats", 250, 8, 40, 5, MealType.BREAKFAST)));
+
+        DaySummary first = service.daySummary(date);
+        DaySummary second = service.daySummary(date);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getTotals()).isEqualTo(new NutrientTotals(250, 8, 40, 5));
+        verify(repo, times(1)).findByDate(date);
+        verify(repo, never()).findByDate(LocalDate.now());
+        assertThat(meters.get("log.query").tag("method", "daySummary").timer().count()).isEqualTo(1);
+        assertThat(meters.find("log.query").tag("method", "todaySummary").timer()).isNull();
+    }
+
+    @Test
+    void concurrentDashboardMissesShareOneQuery() throws Exception {
+        LocalDate today = LocalDate.now();
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repo.findByDate(today)).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            release.await();
+            return List.of();
+        });
+
+        ExecutorService viewers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<DaySummary>> results = new ArrayList<>();
+            results.add(viewers.submit(service::todaySummary));
+            queryStarted.await();
+            for (int i = 1; i < 8; i++) {
+                results.add(viewers.submit(service::todaySummary));
+            }
+            while (service.loadStats().get("days").joined() + service.cacheStats().get("days").hits() < 7) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            for (Future<DaySummary> result : results) {
+                assertThat(result.get().getEntries()).isEmpty();
+            }
+        } finally {
+            viewers.shutdownNow();
+        }
+
+        verify(repo, times(1)).findByDate(today);
+        assertThat(service.loadStats().get("days").loads()).isEqualTo(1);
+    }
+}
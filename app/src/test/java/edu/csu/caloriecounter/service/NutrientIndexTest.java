@@ -0,0 +1,70 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.MealType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NutrientIndexTest {
+    private final List<FoodItem> foods = List.of(
+        new FoodItem("Grilled Chicken Breast", 280, 53, 0, 6, MealType.DINNER),
+        new FoodItem("Greek Yogurt", 150, 25, 9, 0, MealType.BREAKFAST),
+        new FoodItem("Bean Burrito", 450, 18, 60, 14, MealType.DINNER),
+        new FoodItem("Protein Bar", 210, 20, 22, 7, MealType.SNACKS),
+        new FoodItem("Tuna Salad", 300, 26, 8, 18, MealType.LUNCH));
+    private final NutrientIndex index = NutrientIndex.of(foods);
+
+    @Test
+    void multiPredicateRangeQueryReturnsRowsInCatalogOrder() {
+        NutrientFilter filter = new NutrientFilter(NutrientFilter.Range.of(null, 300), NutrientFilter.Range.of(25, null),
+            NutrientFilter.Range.ANY, NutrientFilter.Range.ANY, null);
+
+        assertThat(descriptions(index.filter(filter, 10)))
+            .containsExactly("Grilled Chicken Breast", "Greek Yogurt", "Tuna Salad");
+        assertThat(descriptions(index.filter(filter, 2))).containsExactly("Grilled Chicken Breast", "Greek Yogurt");
+    }
+
+    @Test
+    void mealTypeAndEmptyRangesAreHonoured() {
+        NutrientFilter dinner = new NutrientFilter(NutrientFilter.Range.ANY, NutrientFilter.Range.ANY,
+            NutrientFilter.Range.of(10, null), NutrientFilter.Range.ANY, MealType.DINNER);
+        assertThat(descriptions(index.filter(dinner, 10))).containsExactly("Bean Burrito");
+
+        NutrientFilter empty = new NutrientFilter(NutrientFilter.Range.of(500, 100), NutrientFilter.Range.ANY,
+            NutrientFilter.Range.ANY, NutrientFilter.Range.ANY, null);
+        assertThat(index.filter(empty, 10)).isEmpty();
+    }
+
+    @Test
+    void columnsAnswerTheSameQueriesAsTheList() {
+        NutrientIndex columnar = NutrientIndex.over(ColumnarCatalog.of(foods));
+        NutrientFilter filter = new NutrientFilter(NutrientFilter.Range.of(null, 300), NutrientFilter.Range.of(20, null),
+            NutrientFilter.Range.ANY, NutrientFilter.Range.of(5, null), null);
+
+        assertThat(columnar.size()).isEqualTo(foods.size());
+        assertThat(columnar.filter(filter, 10)).containsExactly(index.filter(filter, 10)).containsExactly(0, 3, 4);
+    }
+
+    @Test
+    void snapshotFilterIncludesAppendedItems() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, foods)
+            .plus(List.of(new FoodItem("Egg Whites", 120, 26, 2, 0, MealType.BREAKFAST)));
+        NutrientFilter filter = new NutrientFilter(NutrientFilter.Range.of(null, 200), NutrientFilter.Range.of(25, null),
+            NutrientFilter.Range.ANY, NutrientFilter.Range.ANY, MealType.BREAKFAST);
+
+        assertThat(snapshot.filter(filter, 10)).extracting(FoodItem::getDescription)
+            .containsExactly("Greek Yogurt", "Egg Whites");
+    }
+
+    private List<String> descriptions(int[] rows) {
+        List<String> descriptions = new ArrayList<>();
+        for (int row : rows) {
+            descriptions.add(foods.get(row).getDescription());
+        }
+        return descriptions;
+    }
+}
@@ -0,0 +1,184 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.LogEntry;
+import edu.csu.caloriecounter.domain.MealType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class QuickAddPipelineTest {
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private LogService service;
+    private FoodCatalogService catalogService;
+    private QuickAddPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        service = mock(LogService.class);
+        catalogService = mock(FoodCatalogService.class);
+        // The first commit blocks until released, so later submissions pile up behind it.
+        when(service.addEntries(anyList())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return ((List<?>) invocation.getArgument(0)).size();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    @Test
+    void submissionsQueuedDuringACommitShareTheNextOne() throws Exception {
+        pipeline = start(new QuickAddPipeline(service, catalogService, "enqueue", 16, 256));
+
+        submit("Eggs");
+        started.await();
+        submit("Toast");
+        submit("Salad");
+        submit("Soup");
+        release.countDown();
+        awaitCommitted(4);
+
+        verify(service).addEntries(argThat(entries -> entries.size() == 1));
+        verify(service).addEntries(argThat(entries -> entries.size() == 3));
+        verify(catalogService).addAllToCatalog(argThat(foods -> foods.size() == 3));
+        assertThat(pipeline.stats().batches()).isEqualTo(2);
+        assertThat(pipeline.stats().meanBatchSize()).isEqualTo(2.0);
+    }
+
+    @Test
+    void batchesAreCappedAtMaxBatch() throws Exception {
+        pipeline = start(new QuickAddPipeline(service, catalogService, "ENQUEUE", 16, 2));
+
+        submit("Eggs");
+        started.await();
+        for (int i = 0; i < 5; i++) {
+            submit("Food " + i);
+        }
+        release.countDown();
+        awaitCommitted(6);
+
+        verify(service, times(4)).addEntries(argThat(entries -> entries.size() <= 2));
+    }
+
+    @Test
+    void commitDurabilitySurfacesTheCommitFailure() {
+        doThrow(new IllegalStateException("database down")).when(service).addEntries(anyList());
+        doThrow(new IllegalStateException("database down")).when(service).addEntry(any());
+        pipeline = start(new QuickAddPipeline(service, catalogService, "commit", 16, 256));
+
+        assertThatThrownBy(() -> submit("Eggs")).isInstanceOf(IllegalStateException.class);
+        assertThat(pipeline.stats().failed()).isEqualTo(1);
+        verifyNoInteractions(catalogService);
+    }
+
+    @Test
+    void failedGroupCommitIsRetriedPerEntry() throws Exception {
+        doThrow(new IllegalStateException("constraint violation")).when(service).addEntries(anyList());
+        doThrow(new IllegalStateException("constraint violation")).when(service)
+            .addEntry(argThat(entry -> entry.getDescription().equals("Bad")));
+        pipeline = new QuickAddPipeline(service, catalogService, "enqueue", 16, 256);
+
+        // Queued before the writer starts, so all three land in one group.
+        submit("Eggs");
+        submit("Bad");
+        submit("Toast");
+        pipeline.start();
+        while (pipeline.stats().committed() + pipeline.stats().failed() < 3) {
+            Thread.sleep(1);
+        }
+
+        assertThat(pipeline.stats().committed()).isEqualTo(2);
+        assertThat(pipeline.stats().failed()).isEqualTo(1);
+        verify(service, times(3)).addEntry(any());
+        verify(catalogService).addAllToCatalog(argThat(foods ->
+            foods.stream().map(FoodItem::getDescription).toList().equals(List.of("Eggs", "Toast"))));
+    }
+
+    @Test
+    void fullQueueRejectsSubmissions() throws Exception {
+        pipeline = start(new QuickAddPipeline(service, catalogService, "enqueue", 1, 256));
+
+        submit("Eggs");
+        started.await();
+        submit("Toast");
+
+        assertThatThrownBy(() -> submit("Salad")).isInstanceOf(RejectedExecutionException.class);
+        assertThat(pipeline.stats().rejected()).isEqualTo(1);
+        assertThat(pipeline.stats().queueDepth()).isEqualTo(1);
+    }
+
+    @Test
+    void shutdownFailsSubmissionsTheWriterNeverReached() throws Exception {
+        pipeline = new QuickAddPipeline(service, catalogService, "commit", 16, 256);
+
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> submit("Eggs"));
+        while (pipeline.stats().queueDepth() == 0) {
+            Thread.sleep(1);
+        }
+        pipeline.shutdown();
+
+        assertThatThrownBy(waiting::join).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(pipeline.stats().failed()).isEqualTo(1);
+        assertThatThrownBy(() -> submit("Toast")).isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void errorInACommitFailsTheBatchAndClosesThePipeline() {
+        doThrow(new OutOfMemoryError("test")).when(service).addEntries(anyList());
+        pipeline = start(new QuickAddPipeline(service, catalogService, "commit", 16, 256));
+
+        assertThatThrownBy(() -> submit("Eggs")).isInstanceOf(IllegalStateException.class)
+            .hasCauseInstanceOf(OutOfMemoryError.class);
+        assertThatThrownBy(() -> submit("Toast")).isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void pipelineCountersArePublishedAsMeters() throws Exception {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        pipeline = start(new QuickAddPipeline(service, catalogService, "enqueue", 16, 256, meters));
+        release.countDown();
+
+        submit("Eggs");
+        awaitCommitted(1);
+
+        assertThat(meters.get("quick-add.queue.depth").gauge().value()).isZero();
+        assertThat(meters.get("quick-add.commit").timer().count()).isEqualTo(1);
+        assertThat(meters.get("quick-add.latency").timer().count()).isEqualTo(1);
+        assertThat(meters.get("quick-add.entries").tag("result", "committed").counter().count()).isEqualTo(1);
+    }
+
+    private static QuickAddPipeline start(QuickAddPipeline pipeline) {
+        pipeline.start();
+        return pipeline;
+    }
+
+    private void submit(String description) {
+        pipeline.add(new LogEntry(LocalDate.of(2024, 10, 1), description, 100, 1, 2, 3, MealType.LUNCH),
+            new FoodItem(description, 100, 1, 2, 3, MealType.LUNCH));
+    }
+
+    private void awaitCommitted(long entries) throws InterruptedException {
+        while (pipeline.stats().committed() < entries) {
+            Thread.sleep(1);
+        }
+    }
+}
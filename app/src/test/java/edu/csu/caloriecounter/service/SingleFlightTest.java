@@ -0,0 +1,73 @@
+package edu.csu.caloriecounter.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void waitersShareTheLeadersFailure() throws Exception {
+        SingleFlight<String, String> flights = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flights.execute("k", () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("database down");
+        }), callers);
+        started.await();
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() -> flights.execute("k", () -> "unused"), callers);
+        while (flights.stats().joined() == 0) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertThatThrownBy(waiter::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(leader::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(flights.stats()).isEqualTo(new SingleFlight.Stats(1, 1, 0));
+    }
+
+    @Test
+    void forgottenLoadIsNotJoined() throws Exception {
+        SingleFlight<String, String> flights = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> stale = CompletableFuture.supplyAsync(() -> flights.execute("k", () -> {
+            started.countDown();
+            await(release);
+            return "before write";
+        }), callers);
+        started.await();
+        flights.forget("k");
+
+        assertThat(flights.execute("k", () -> "after write")).isEqualTo("after write");
+        release.countDown();
+        assertThat(stale.join()).isEqualTo("before write");
+        assertThat(flights.stats().loads()).isEqualTo(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
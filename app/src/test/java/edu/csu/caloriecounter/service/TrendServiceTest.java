@@ -0,0 +1,133 @@
+package edu.csu.caloriecounter.service;
+
+import edu.csu.caloriecounter.domain.MealType;
+import edu.csu.caloriecounter.domain.NutrientTotals;
+import edu.csu.caloriecounter.domain.RollupPeriod;
+import edu.csu.caloriecounter.repo.DailyTotalsRepository;
+import edu.csu.caloriecounter.repo.PeriodTotalsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The bucket upserts rely on the MySQL compatibility mode of the configured datasource.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({RollupEngine.class, TrendService.class})
+class TrendServiceTest {
+    // A Wednesday; its week starts on 2024-09-30, its month on 2024-10-01.
+    private static final LocalDate DAY = LocalDate.of(2024, 10, 2);
+
+    @Autowired
+    private RollupEngine rollups;
+
+    @Autowired
+    private TrendService trends;
+
+    @Autowired
+    private PeriodTotalsRepository periodRepo;
+
+    @Autowired
+    private DailyTotalsRepository dailyRepo;
+
+    @Test
+    void applyMergesDeltasPerBucketAndMealType() {
+        int rows = rollups.apply(List.of(
+            delta(DAY, MealType.LUNCH, 300, 1),
+            delta(DAY.plusDays(1), MealType.LUNCH, 200, 1),
+            delta(DAY.plusDays(1), MealType.DINNER, 700, 1)));
+
+        // One week and one month bucket for each of the two meal types.
+        assertThat(rows).isEqualTo(4);
+        assertThat(periodRepo.count()).isEqualTo(4);
+    }
+
+    @Test
+    void trendsGroupBucketsWithMealTypeBreakdown() {
+        rollups.apply(List.of(
+            delta(DAY, MealType.LUNCH, 300, 1),
+            delta(DAY, MealType.DINNER, 700, 1),
+            delta(DAY.plusWeeks(1), MealType.LUNCH, 500, 1)));
+
+        TrendService.Trends weekly = trends.trends(DAY.minusDays(30), DAY.plusWeeks(1), RollupPeriod.WEEK);
+
+        assertThat(weekly.buckets()).extracting(TrendService.Bucket::start)
+            .containsExactly(LocalDate.of(2024, 9, 30), LocalDate.of(2024, 10, 7));
+        TrendService.Bucket first = weekly.buckets().get(0);
+        assertThat(first.totals().getCalories()).isEqualTo(1000);
+        assertThat(first.entries()).isEqualTo(2);
+        assertThat(first.byMealType()).containsOnlyKeys(MealType.LUNCH, MealType.DINNER);
+        assertThat(weekly.byMealType().get(MealType.LUNCH).getCalories()).isEqualTo(800);
+
+        TrendService.Trends monthly = trends.trends(DAY, DAY.plusWeeks(1), RollupPeriod.MONTH);
+        assertThat(monthly.buckets()).singleElement()
+            .satisfies(bucket -> assertThat(bucket.totals().getCalories()).isEqualTo(1500));
+    }
+
+    @Test
+    void removedEntriesLeaveNoEmptyBuckets() {
+        rollups.apply(List.of(delta(DAY, MealType.LUNCH, 300, 1)));
+        rollups.apply(List.of(delta(DAY, MealType.LUNCH, -300, -1)));
+
+        assertThat(trends.trends(DAY, DAY, RollupPeriod.WEEK).buckets()).isEmpty();
+    }
+
+    @Test
+    void rollingAveragesCoverLoggedDaysOfEachWindow() {
+        dailyRepo.applyDelta(DAY, "LUNCH", 2000, 100, 200, 50, 1);
+        dailyRepo.applyDelta(DAY.minusDays(3), "LUNCH", 1000, 50, 100, 30, 1);
+        dailyRepo.applyDelta(DAY.minusDays(20), "LUNCH", 3000, 150, 300, 70, 1);
+        dailyRepo.applyDelta(DAY.minusDays(100), "LUNCH", 9000, 0, 0, 0, 1);
+
+        List<TrendService.RollingSeries> series = trends.trends(DAY.minusYears(1), DAY, RollupPeriod.WEEK).averages();
+
+        assertThat(series).extracting(TrendService.RollingSeries::days).containsExactly(7, 30, 90);
+        assertThat(series).allSatisfy(s -> assertThat(s.points()).hasSize(367));
+        List<TrendService.RollingAverage> last = series.stream().map(s -> s.points().get(366)).toList();
+        assertThat(last).extracting(TrendService.RollingAverage::date).containsOnly(DAY);
+        assertThat(last).extracting(TrendService.RollingAverage::loggedDays).containsExactly(2, 3, 3);
+        assertThat(last.get(0).calories()).isEqualTo(1500.0);
+        assertThat(last.get(1).calories()).isEqualTo(2000.0);
+    }
+
+    @Test
+    void rollingAveragesMoveDayByDay() {
+        dailyRepo.applyDelta(DAY, "LUNCH", 2000, 100, 200, 50, 1);
+        dailyRepo.applyDelta(DAY.minusDays(3), "LUNCH", 1000, 50, 100, 30, 1);
+        dailyRepo.applyDelta(DAY.minusDays(12), "LUNCH", 600, 0, 0, 0, 1);
+
+        List<TrendService.RollingAverage> week = trends.trends(DAY.minusDays(9), DAY, RollupPeriod.WEEK)
+            .averages().get(0).points();
+
+        assertThat(week).extracting(TrendService.RollingAverage::date).startsWith(DAY.minusDays(9)).endsWith(DAY);
+        assertThat(week).extracting(TrendService.RollingAverage::loggedDays)
+            .containsExactly(1, 1, 1, 1, 0, 0, 1, 1, 1, 2);
+        assertThat(week).extracting(TrendService.RollingAverage::calories)
+            .containsExactly(600.0, 600.0, 600.0, 600.0, 0.0, 0.0, 1000.0, 1000.0, 1000.0, 1500.0);
+    }
+
+    @Test
+    void backfillRebuildsBucketsFromDailyTotals() {
+        dailyRepo.applyDelta(DAY, "LUNCH", 300, 12, 30, 10, 1);
+        dailyRepo.applyDelta(DAY.plusMonths(1), "DINNER", 150, 6, 15, 5, 1);
+        periodRepo.applyDelta("MONTH", DAY.withDayOfMonth(1), "LUNCH", 9999, 0, 0, 0, 1);
+
+        rollups.backfill();
+
+        Map<MealType, NutrientTotals> byMealType =
+            trends.trends(DAY, DAY.plusMonths(1), RollupPeriod.MONTH).byMealType();
+        assertThat(byMealType).containsEntry(MealType.LUNCH, new NutrientTotals(300, 12, 30, 10))
+            .containsEntry(MealType.DINNER, new NutrientTotals(150, 6, 15, 5));
+    }
+
+    private static TotalsDelta delta(LocalDate date, MealType mealType, long calories, long entries) {
+        return new TotalsDelta(date, mealType, calories, 0, 0, 0, entries);
+    }
+}
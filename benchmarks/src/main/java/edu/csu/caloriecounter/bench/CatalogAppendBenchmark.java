@@ -0,0 +1,48 @@
+package edu.csu.caloriecounter.bench;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.MealType;
+import edu.csu.caloriecounter.service.FoodCatalogService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@link FoodCatalogService#addToCatalog(FoodItem)} (duplicate check, journal append and
+ * snapshot publish) on catalogs of increasing size. Every call adds a new food, so the catalog keeps
+ * growing through the run; background compaction into the workbook runs as it would in production.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class CatalogAppendBenchmark {
+    @Param({"1000", "100000"})
+    int rows;
+
+    private CatalogFixture fixture;
+    private FoodCatalogService service;
+    private long next;
+
+    @Setup(Level.Trial)
+    public void loadCatalog() throws IOException {
+        fixture = CatalogFixture.create(rows);
+        service = fixture.newService();
+        service.loadCatalog();
+    }
+
+    @Benchmark
+    public int addToCatalog() {
+        service.addToCatalog(new FoodItem("Appended " + next++, 250, 10, 30, 8, MealType.SNACKS));
+        return service.getCatalog().size();
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        service.shutdown();
+        fixture.close();
+    }
+}
@@ -0,0 +1,90 @@
+package edu.csu.caloriecounter.bench;
+
+import edu.csu.caloriecounter.domain.MealType;
+import edu.csu.caloriecounter.service.FoodCatalogService;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Scratch working directory holding a generated {@code docs/food-catalog.xlsx}, since
+ * {@link FoodCatalogService} resolves its workbook, cache and journal against {@code user.dir}.
+ */
+final class CatalogFixture implements AutoCloseable {
+    private static final MealType[] MEAL_TYPES = MealType.values();
+
+    private final Path dir;
+    private final String originalUserDir = System.getProperty("user.dir");
+
+    private CatalogFixture(Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Write a workbook with {@code rows} distinct foods and point {@code user.dir} at it.
+     *
+     * @param rows number of data rows
+     * @return the fixture; {@link #close()} restores {@code user.dir} and deletes the files
+     */
+    static CatalogFixture create(int rows) throws IOException {
+        Path dir = Files.createTempDirectory("catalog-bench");
+        Path docs = Files.createDirectories(dir.resolve("docs"));
+        Random random = new Random(42);
+        // Streaming writer: only a window of rows is kept in memory, so a million rows fit in a small heap.
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(1000);
+             OutputStream out = Files.newOutputStream(docs.resolve("food-catalog.xlsx"))) {
+            Sheet sheet = workbook.createSheet("Foods");
+            Row header = sheet.createRow(0);
+            String[] columns = {"Description", "Calories", "Protein", "Carbs", "Fat", "MealType"};
+            for (int i = 0; i < columns.length; i++) {
+                header.createCell(i).setCellValue(columns[i]);
+            }
+            for (int i = 1; i <= rows; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("Food " + i);
+                row.createCell(1).setCellValue(50 + random.nextInt(900));
+                row.createCell(2).setCellValue(random.nextInt(60));
+                row.createCell(3).setCellValue(random.nextInt(120));
+                row.createCell(4).setCellValue(random.nextInt(50));
+                row.createCell(5).setCellValue(MEAL_TYPES[random.nextInt(MEAL_TYPES.length)].name());
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+        System.setProperty("user.dir", dir.toString());
+        return new CatalogFixture(dir);
+    }
+
+    /** @return a service bound to this fixture's workbook, not yet loaded. */
+    FoodCatalogService newService() {
+        return new FoodCatalogService();
+    }
+
+    /** Delete the binary cache so the next load parses the workbook again. */
+    void deleteCache() throws IOException {
+        Files.deleteIfExists(dir.resolve("docs/food-catalog.bin"));
+    }
+
+    @Override
+    public void close() throws IOException {
+        System.setProperty("user.dir", originalUserDir);
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package edu.csu.caloriecounter.bench;
+
+import edu.csu.caloriecounter.service.FoodCatalogService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup cost of {@link FoodCatalogService#loadCatalog()} by catalog size, both parsing the workbook
+ * ({@code cached=false}) and reading the binary cache written by the previous load ({@code cached=true}).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class CatalogLoadBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    int rows;
+
+    @Param({"false", "true"})
+    boolean cached;
+
+    private CatalogFixture fixture;
+    private FoodCatalogService service;
+
+    @Setup(Level.Trial)
+    public void createWorkbook() throws IOException {
+        fixture = CatalogFixture.create(rows);
+        service = fixture.newService();
+        service.loadCatalog();
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareCache() throws IOException {
+        if (!cached) {
+            fixture.deleteCache();
+        }
+    }
+
+    @Benchmark
+    public int loadCatalog() {
+        service.loadCatalog();
+        return service.getCatalog().size();
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        service.shutdown();
+        fixture.close();
+    }
+}
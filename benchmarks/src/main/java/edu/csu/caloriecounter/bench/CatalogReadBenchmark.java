@@ -0,0 +1,63 @@
+package edu.csu.caloriecounter.bench;
+
+import edu.csu.caloriecounter.domain.FoodItem;
+import edu.csu.caloriecounter.domain.MealType;
+import edu.csu.caloriecounter.service.FoodCatalogService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of {@link FoodCatalogService#getCatalog()} with eight concurrent readers, alone and while
+ * one thread keeps appending foods.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogReadBenchmark {
+    @Param({"100000"})
+    int rows;
+
+    private CatalogFixture fixture;
+    private FoodCatalogService service;
+    private final AtomicLong next = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void loadCatalog() throws IOException {
+        fixture = CatalogFixture.create(rows);
+        service = fixture.newService();
+        service.loadCatalog();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public List<FoodItem> readers() {
+        return service.getCatalog();
+    }
+
+    @Benchmark
+    @Group("readWhileAppending")
+    @GroupThreads(7)
+    public List<FoodItem> reader() {
+        return service.getCatalog();
+    }
+
+    @Benchmark
+    @Group("readWhileAppending")
+    @GroupThreads(1)
+    public void appender() {
+        service.addToCatalog(new FoodItem("Appended " + next.incrementAndGet(), 250, 10, 30, 8, MealType.SNACKS));
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        service.shutdown();
+        fixture.close();
+    }
+}
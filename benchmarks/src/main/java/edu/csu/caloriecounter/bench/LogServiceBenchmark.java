@@ -0,0 +1,94 @@
+package edu.csu.caloriecounter.bench;
+
+import edu.csu.caloriecounter.Application;
+import edu.csu.caloriecounter.domain.LogEntry;
+import edu.csu.caloriecounter.domain.MealType;
+import edu.csu.caloriecounter.domain.NutrientTotals;
+import edu.csu.caloriecounter.service.LogService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LogService#totalsForDate(LocalDate)} and {@link LogService#lastNDays(int)} against an
+ * in-memory H2 database seeded through the service with {@value #ENTRIES_PER_DAY} entries a day for
+ * one or five years of history.
+ *
+ * The per-date cache is limited to one date and {@code totalsForDate} asks for a random seeded day, so
+ * it measures the database path; {@code totalsForToday} repeats the same date to measure a cache hit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogServiceBenchmark {
+    private static final int ENTRIES_PER_DAY = 8;
+    private static final String[] FOODS = {"Oatmeal", "Eggs", "Chicken salad", "Rice bowl", "Apple", "Yogurt",
+        "Salmon", "Pasta"};
+
+    @Param({"365", "1825"})
+    int days;
+
+    private ConfigurableApplicationContext context;
+    private LogService service;
+    private LocalDate today;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        context = new SpringApplicationBuilder(Application.class)
+            .web(WebApplicationType.NONE)
+            .run("--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                "--spring.h2.console.enabled=false",
+                "--log.cache.max-dates=1",
+                "--logging.level.root=WARN");
+        service = context.getBean(LogService.class);
+        today = service.today();
+
+        Random random = new Random(42);
+        MealType[] mealTypes = MealType.values();
+        List<LogEntry> entries = new ArrayList<>(days * ENTRIES_PER_DAY);
+        for (int day = 0; day < days; day++) {
+            LocalDate date = today.minusDays(day);
+            for (int i = 0; i < ENTRIES_PER_DAY; i++) {
+                entries.add(new LogEntry(date, FOODS[random.nextInt(FOODS.length)], 100 + random.nextInt(600),
+                    random.nextInt(40), random.nextInt(80), random.nextInt(30), mealTypes[i % mealTypes.length]));
+            }
+        }
+        service.addEntries(entries);
+    }
+
+    @Benchmark
+    public NutrientTotals totalsForDate() {
+        return service.totalsForDate(today.minusDays(ThreadLocalRandom.current().nextInt(days)));
+    }
+
+    @Benchmark
+    public NutrientTotals totalsForToday() {
+        return service.totalsForDate(today);
+    }
+
+    @Benchmark
+    public List<LogEntry> lastSevenDays() {
+        return service.lastNDays(7);
+    }
+
+    @Benchmark
+    public List<LogEntry> lastThirtyDays() {
+        return service.lastNDays(30);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        context.close();
+    }
+}
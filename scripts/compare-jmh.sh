@@ -0,0 +1,26 @@
+#!/usr/bin/env bash
+# Compare two JMH JSON result files (e.g. from `mvn -pl benchmarks -am package -Pjmh`).
+#
+# Prints one tab-separated line per benchmark and parameter set found in both files with the baseline score, the
+# candidate score and the relative change. Whether higher is better depends on the mode: for
+# thrpt it is, for avgt/sample/ss (times) lower is better.
+#
+# Usage: scripts/compare-jmh.sh baseline.json candidate.json
+# Needs: jq.
+set -euo pipefail
+
+if [ $# -ne 2 ]; then
+  echo "usage: $0 baseline.json candidate.json" >&2
+  exit 1
+fi
+
+printf 'benchmark\tbaseline\tcandidate\tunit\tchange\n'
+jq -r -n --slurpfile base "$1" --slurpfile cand "$2" '
+  def key: .benchmark + " " + .mode + " " + ((.params // {}) | to_entries | map(.key + "=" + .value) | join(","));
+  ($base[0] | map({key: key, value: .primaryMetric}) | from_entries) as $b
+  | $cand[0][]
+  | key as $k
+  | select($b[$k] != null)
+  | [$k, $b[$k].score, .primaryMetric.score, .primaryMetric.scoreUnit,
+     (if $b[$k].score == 0 then "n/a" else (((.primaryMetric.score / $b[$k].score) - 1) * 100 | . * 10 | round / 10 | tostring) + "%" end)]
+  | @tsv'
@@ -0,0 +1,78 @@
+#!/usr/bin/env bash
+# Compare throughput and p99 latency of the default platform-thread mode and the "virtual" profile.
+#
+# Builds the jar once, then for each mode starts the app on its own port, warms it up, and drives the
+# dashboard (JDBC reads) and quick-add (JDBC write + catalog journal) with `hey`
+# (https://github.com/rakyll/hey). The quick-add POST follows its redirect, so it includes one
+# dashboard render. Raw reports go to target/thread-modes/; a summary is printed.
+#
+# Usage: scripts/compare-thread-modes.sh [requests] [concurrency]
+# Needs: a Java 21+ runtime (virtual threads), Maven, hey, curl.
+set -euo pipefail
+
+REQUESTS="${1:-20000}"
+CONCURRENCY="${2:-400}"
+PORT=18080
+OUT=target/thread-modes
+
+cd "$(dirname "$0")/.."
+for tool in hey curl java mvn; do
+  command -v "$tool" >/dev/null || { echo "missing required tool: $tool" >&2; exit 1; }
+done
+JAVA_MAJOR=$(java -XshowSettings:properties -version 2>&1 | awk -F' = ' '/java.specification.version/ {print $2}')
+if [ "${JAVA_MAJOR%%.*}" -lt 21 ]; then
+  echo "Java $JAVA_MAJOR found; the virtual profile needs Java 21 or newer" >&2
+  exit 1
+fi
+
+mvn -q -pl app -DskipTests package
+JAR=$(ls app/target/calorie-counter-*-exec.jar | head -n 1)
+mkdir -p "$OUT"
+
+run_mode() {
+  local mode=$1 profile=$2
+  # Catalog writes go to a scratch copy so runs do not touch docs/food-catalog.xlsx.
+  local workdir
+  workdir=$(mktemp -d)
+  mkdir -p "$workdir/docs"
+  cp docs/food-catalog.xlsx "$workdir/docs/"
+
+  (cd "$workdir" && exec java -jar "$OLDPWD/$JAR" --server.port=$PORT --spring.profiles.active="$profile" \
+    --logging.level.root=WARN) > "$OUT/$mode-app.log" 2>&1 &
+  local pid=$!
+
+  for _ in $(seq 1 120); do
+    curl -fs -o /dev/null "http://localhost:$PORT/dashboard" && break
+    sleep 1
+  done
+
+  hey -n 2000 -c 50 "http://localhost:$PORT/dashboard" > /dev/null
+  hey -n "$REQUESTS" -c "$CONCURRENCY" "http://localhost:$PORT/dashboard" > "$OUT/$mode-dashboard.txt"
+  hey -n "$REQUESTS" -c "$CONCURRENCY" -m POST -T application/x-www-form-urlencoded \
+    -d 'description=Load+test+snack&calories=120&mealType=SNACKS' \
+    "http://localhost:$PORT/quick-add" > "$OUT/$mode-quick-add.txt"
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  rm -rf "$workdir"
+}
+
+summary() {
+  local file=$1
+  local rps p99
+  rps=$(awk '/Requests\/sec/ {print $2}' "$file")
+  p99=$(awk '/ 99%/ {print $3}' "$file")
+  printf '%-10s %-10s %12s %12s\n' "$2" "$3" "$rps" "$p99"
+}
+
+run_mode platform default
+run_mode virtual virtual
+
+{
+  printf '%-10s %-10s %12s %12s\n' mode endpoint 'req/s' 'p99 (s)'
+  for mode in platform virtual; do
+    for endpoint in dashboard quick-add; do
+      summary "$OUT/$mode-$endpoint.txt" "$mode" "$endpoint"
+    done
+  done
+} | tee "$OUT/summary.txt"
@@ -0,0 +1,118 @@
+#!/usr/bin/env bash
+# Measure restart-to-ready time and query latency of the "durable" profile with a large log.
+#
+# Builds the jar, creates a scratch file database, bulk-loads ENTRIES log entries spread over DAYS days
+# straight into it with H2's RunScript (in chunks of one million rows), rebuilds the daily totals and
+# rollups once with --rebuild-daily-totals, then restarts the app RUNS times and records the time from
+# launch until /actuator/health answers. The last instance is driven with `hey`
+# (https://github.com/rakyll/hey) on the dashboard, a month of history and a year of weekly trends.
+# Raw reports go to target/durable/; a summary is printed.
+#
+# Usage: scripts/durable-restart.sh [entries] [days] [runs]
+# Needs: Java 17+, Maven, hey, curl.
+set -euo pipefail
+
+ENTRIES="${1:-10000000}"
+DAYS="${2:-3650}"
+RUNS="${3:-5}"
+CHUNK=1000000
+PORT=18080
+OUT=target/durable
+
+cd "$(dirname "$0")/.."
+for tool in hey curl java mvn; do
+  command -v "$tool" >/dev/null || { echo "missing required tool: $tool" >&2; exit 1; }
+done
+
+mvn -q -pl app -DskipTests package
+JAR=$(ls app/target/calorie-counter-*-exec.jar | head -n 1)
+H2_CP=$(mvn -q -pl app dependency:build-classpath -Dmdep.includeArtifactIds=h2 -Dmdep.outputFile=/dev/stdout)
+mkdir -p "$OUT"
+
+# Catalog writes and the database go to a scratch directory so runs do not touch docs/ or ./data.
+WORKDIR=$(mktemp -d)
+trap 'rm -rf "$WORKDIR"' EXIT
+mkdir -p "$WORKDIR/docs"
+cp docs/food-catalog.xlsx "$WORKDIR/docs/"
+DB_URL="jdbc:h2:file:$WORKDIR/data/caldb;MODE=MySQL"
+
+PID=
+start_app() {
+  (cd "$WORKDIR" && exec java -jar "$OLDPWD/$JAR" --server.port=$PORT --spring.profiles.active=durable \
+    --seed.enabled=false --logging.level.root=WARN "$@") >> "$OUT/app.log" 2>&1 &
+  PID=$!
+}
+
+# Prints the milliseconds from $1 (epoch ms) until the app answers its health check.
+wait_ready() {
+  local started=$1
+  for _ in $(seq 1 6000); do
+    if curl -fs -o /dev/null "http://localhost:$PORT/actuator/health"; then
+      echo $(( $(date +%s%3N) - started ))
+      return
+    fi
+    sleep 0.1
+  done
+  echo "app did not become ready; see $OUT/app.log" >&2
+  exit 1
+}
+
+stop_app() {
+  kill "$PID"
+  wait "$PID" 2>/dev/null || true
+}
+
+: > "$OUT/app.log"
+
+# First start creates the schema.
+start_app
+wait_ready "$(date +%s%3N)" > /dev/null
+stop_app
+
+# Ids start above the sequence's first blocks; the sequence is moved past them afterwards.
+echo "loading $ENTRIES entries over $DAYS days"
+for ((from = 1; from <= ENTRIES; from += CHUNK)); do
+  to=$(( from + CHUNK - 1 < ENTRIES ? from + CHUNK - 1 : ENTRIES ))
+  cat > "$WORKDIR/load.sql" <<SQL
+INSERT INTO log_entry (id, date, description, calories, protein, carbs, fat, meal_type)
+SELECT 1000 + X, DATEADD(DAY, -MOD(X, $DAYS), CURRENT_DATE), 'Bulk entry ' || MOD(X, 500),
+       50 + MOD(X, 900), MOD(X, 60), MOD(X, 120), MOD(X, 40),
+       CASE MOD(X, 4) WHEN 0 THEN 'BREAKFAST' WHEN 1 THEN 'LUNCH' WHEN 2 THEN 'DINNER' ELSE 'SNACKS' END
+FROM SYSTEM_RANGE($from, $to);
+SQL
+  java -cp "$H2_CP" org.h2.tools.RunScript -url "$DB_URL" -user sa -script "$WORKDIR/load.sql"
+done
+echo "ALTER SEQUENCE log_entry_seq RESTART WITH $(( ENTRIES + 1001 ));" > "$WORKDIR/load.sql"
+java -cp "$H2_CP" org.h2.tools.RunScript -url "$DB_URL" -user sa -script "$WORKDIR/load.sql"
+
+# One start that rebuilds the daily totals and rollups from the loaded entries.
+start_app --rebuild-daily-totals
+wait_ready "$(date +%s%3N)" > /dev/null
+stop_app
+du -sh "$WORKDIR/data" | awk '{print $1}' > "$OUT/db-size.txt"
+
+: > "$OUT/restart-ms.txt"
+for run in $(seq 1 "$RUNS"); do
+  start_app
+  wait_ready "$(date +%s%3N)" | tee -a "$OUT/restart-ms.txt"
+  if [ "$run" -lt "$RUNS" ]; then
+    stop_app
+  fi
+done
+
+hey -n 2000 -c 20 "http://localhost:$PORT/dashboard" > /dev/null
+hey -n 5000 -c 20 "http://localhost:$PORT/dashboard" > "$OUT/dashboard.txt"
+hey -n 5000 -c 20 "http://localhost:$PORT/history?days=30" > "$OUT/history.txt"
+hey -n 2000 -c 20 "http://localhost:$PORT/api/trends?period=week" > "$OUT/trends.txt"
+stop_app
+
+{
+  printf 'entries %s over %s days, database %s\n' "$ENTRIES" "$DAYS" "$(cat "$OUT/db-size.txt")"
+  sort -n "$OUT/restart-ms.txt" | awk '{a[NR]=$1} END {printf "restart-to-ready ms: min %s, median %s, max %s\n", a[1], a[int((NR+1)/2)], a[NR]}'
+  printf '%-10s %12s %12s %12s\n' endpoint 'req/s' 'p50 (s)' 'p99 (s)'
+  for endpoint in dashboard history trends; do
+    file="$OUT/$endpoint.txt"
+    printf '%-10s %12s %12s %12s\n' "$endpoint" "$(awk '/Requests\/sec/ {print $2}' "$file")" \
+      "$(awk '/ 50%/ {print $3}' "$file")" "$(awk '/ 99%/ {print $3}' "$file")"
+  done
+} | tee "$OUT/summary.txt"